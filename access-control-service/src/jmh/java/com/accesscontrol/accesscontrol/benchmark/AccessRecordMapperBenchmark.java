@@ -0,0 +1,63 @@
+package com.accesscontrol.accesscontrol.benchmark;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.dto.AccessRecordDTO;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.in.web.mapper.AccessRecordWebMapper;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversiones de un registro de acceso entre DTO web, dominio y entidad JPA
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccessRecordMapperBenchmark {
+
+    private final AccessRecordMapper persistenceMapper = new AccessRecordMapper();
+    private final AccessRecordWebMapper webMapper = new AccessRecordWebMapper();
+
+    private AccessRecord domain;
+    private com.accesscontrol.accesscontrol.model.AccessRecord jpa;
+    private AccessRecordDTO dto;
+
+    @Setup
+    public void setUp() {
+        domain = new AccessRecord();
+        domain.setId(42L);
+        domain.setEmployeeID("12345678");
+        domain.setEmployeeCode("EMP001");
+        domain.setAccessTimestamp(LocalDateTime.of(2024, 3, 4, 8, 15, 30));
+        domain.setAccessdatetime("2024-03-04 08:15:30");
+        domain.setAccessType(AccessRecord.AccessType.ENTRY);
+        domain.setStatus(AccessRecord.AccessStatus.SUCCESS);
+        domain.setLocation("Sede principal");
+        domain.setDeviceId("TORNIQUETE-01");
+        domain.setNotes("Ingreso por torniquete");
+        jpa = persistenceMapper.toJpaEntity(domain);
+        dto = webMapper.toDTO(domain);
+    }
+
+    @Benchmark
+    public com.accesscontrol.accesscontrol.model.AccessRecord toJpaEntity() {
+        return persistenceMapper.toJpaEntity(domain);
+    }
+
+    @Benchmark
+    public AccessRecord toDomainEntity() {
+        return persistenceMapper.toDomainEntity(jpa);
+    }
+
+    @Benchmark
+    public AccessRecord webToDomainEntity() {
+        return webMapper.toDomainEntity(dto);
+    }
+
+    @Benchmark
+    public AccessRecordDTO webToDTO() {
+        return webMapper.toDTO(domain);
+    }
+}
@@ -0,0 +1,81 @@
+package com.accesscontrol.accesscontrol.benchmark;
+
+import com.accesscontrol.accesscontrol.application.service.AccessControlService;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.DailyAttendance;
+import com.accesscontrol.accesscontrol.dto.EmployeeAccessReportDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reportes sobre puertos en memoria: armado del reporte diario desde la proyección
+ * (employees filas) y emparejamiento de ingresos y salidas de un empleado (records accesos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AccessReportBenchmark {
+
+    private static final String DOCUMENT = "10000000";
+
+    @Param({"500"})
+    public int employees;
+
+    @Param({"2000"})
+    public int records;
+
+    private final AccessControlService service = new AccessControlService();
+    private final LocalDateTime day = LocalDate.of(2024, 3, 4).atStartOfDay();
+    private LocalDateTime rangeEnd;
+
+    @Setup
+    public void setUp() {
+        InMemoryEmployeeService employeeService = new InMemoryEmployeeService();
+        List<DailyAttendance> attendances = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            String document = String.valueOf(10_000_000 + i);
+            employeeService.add(document);
+            DailyAttendance attendance = new DailyAttendance(document, day.toLocalDate());
+            attendance.registerEntry(day.plusHours(8).plusMinutes(i % 60));
+            attendance.registerExit(day.plusHours(17).plusMinutes(i % 60));
+            attendances.add(attendance);
+        }
+
+        // Un ingreso y una salida por día, con un ingreso sin salida cada diez días
+        List<AccessRecord> history = new ArrayList<>(records);
+        LocalDateTime timestamp = day.plusHours(8);
+        for (int i = 0; i < records; i++) {
+            boolean entry = i % 2 == 0 || i % 20 == 19;
+            AccessRecord record = new AccessRecord(DOCUMENT, entry ? AccessRecord.AccessType.ENTRY : AccessRecord.AccessType.EXIT);
+            record.setId((long) i);
+            record.setAccessTimestamp(timestamp);
+            history.add(record);
+            timestamp = timestamp.plusHours(entry ? 9 : 15);
+        }
+        rangeEnd = timestamp;
+
+        ReflectionTestUtils.setField(service, "employeeServicePort", employeeService);
+        ReflectionTestUtils.setField(service, "dailyAttendancePort", new InMemoryDailyAttendance(attendances));
+        InMemoryAccessRecordRepository repository = new InMemoryAccessRecordRepository(history);
+        ReflectionTestUtils.setField(service, "accessRecordRepositoryPort", repository);
+        ReflectionTestUtils.setField(service, "accessRecordExportPort", repository);
+        ReflectionTestUtils.setField(service, "alertServicePort", new NoOpAlertService());
+    }
+
+    @Benchmark
+    public List<EmployeeAccessReportDTO> dailyReport() {
+        return service.getEmployeesAccessByDate(day);
+    }
+
+    @Benchmark
+    public long rangeReport(Blackhole blackhole) {
+        return service.getEmployeeReportByDateRange(DOCUMENT, day, rangeEnd, blackhole::consume);
+    }
+}
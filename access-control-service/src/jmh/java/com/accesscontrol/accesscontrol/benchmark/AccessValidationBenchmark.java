@@ -0,0 +1,73 @@
+package com.accesscontrol.accesscontrol.benchmark;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
+import com.accesscontrol.accesscontrol.domain.service.AccessValidationService;
+import com.accesscontrol.accesscontrol.exception.AccessValidationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validación de un acceso contra el índice de presencia: ingreso tras salida, salida tras
+ * ingreso, primer ingreso del empleado e ingreso duplicado (rechazo con excepción).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccessValidationBenchmark {
+
+    private final AccessValidationService validationService = new AccessValidationService();
+    private final InMemoryAccessRecordRepository repository = new InMemoryAccessRecordRepository(List.of());
+    private final InMemoryPresenceState presenceState = new InMemoryPresenceState();
+    private final NoOpAlertService alertService = new NoOpAlertService();
+
+    private AccessRecord entryAfterExit;
+    private AccessRecord exitAfterEntry;
+    private AccessRecord firstEntry;
+    private AccessRecord duplicateEntry;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 4, 8, 0);
+        for (int i = 0; i < 10_000; i++) {
+            String document = String.valueOf(10_000_000 + i);
+            AccessRecord.AccessType type = i % 2 == 0 ? AccessRecord.AccessType.EXIT : AccessRecord.AccessType.ENTRY;
+            presenceState.update(new PresenceState(document, (long) i, type, now.minusMinutes(i)));
+        }
+        entryAfterExit = new AccessRecord("10000000", AccessRecord.AccessType.ENTRY);
+        exitAfterEntry = new AccessRecord("10000001", AccessRecord.AccessType.EXIT);
+        firstEntry = new AccessRecord("99999999", AccessRecord.AccessType.ENTRY);
+        duplicateEntry = new AccessRecord("10000003", AccessRecord.AccessType.ENTRY);
+    }
+
+    @Benchmark
+    public AccessRecord entryAfterExit() {
+        validationService.validateAccess(entryAfterExit, repository, presenceState, alertService);
+        return entryAfterExit;
+    }
+
+    @Benchmark
+    public AccessRecord exitAfterEntry() {
+        validationService.validateAccess(exitAfterEntry, repository, presenceState, alertService);
+        return exitAfterEntry;
+    }
+
+    @Benchmark
+    public AccessRecord firstEntry() {
+        validationService.validateAccess(firstEntry, repository, presenceState, alertService);
+        return firstEntry;
+    }
+
+    @Benchmark
+    public Object duplicateEntryRejected() {
+        try {
+            validationService.validateAccess(duplicateEntry, repository, presenceState, alertService);
+            throw new IllegalStateException("El ingreso duplicado debía rechazarse");
+        } catch (AccessValidationException e) {
+            return e;
+        }
+    }
+}
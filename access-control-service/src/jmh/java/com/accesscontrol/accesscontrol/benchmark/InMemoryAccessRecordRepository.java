@@ -0,0 +1,127 @@
+package com.accesscontrol.accesscontrol.benchmark;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessCursor;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordExportPort;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Historial fijo de un empleado, ya ordenado por (accessTimestamp, id). Sólo implementa el
+ * recorrido en streaming que usa el reporte por rango; el resto no participa en los benchmarks.
+ */
+class InMemoryAccessRecordRepository implements AccessRecordRepositoryPort, AccessRecordExportPort {
+
+    private final List<AccessRecord> records;
+
+    InMemoryAccessRecordRepository(List<AccessRecord> records) {
+        this.records = records;
+    }
+
+    @Override
+    public long forEachRecord(LocalDateTime start, LocalDateTime end, Consumer<AccessRecord> consumer) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long forEachByEmployeeIDAndDateRange(String employeeID, LocalDateTime start, LocalDateTime end,
+                                                Consumer<AccessRecord> consumer) {
+        long count = 0;
+        for (AccessRecord record : records) {
+            if (employeeID.equals(record.getEmployeeID())
+                    && !record.getAccessTimestamp().isBefore(start) && !record.getAccessTimestamp().isAfter(end)) {
+                consumer.accept(record);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long forEachByEmployeeCodeAndDateRange(String employeeCode, LocalDateTime start, LocalDateTime end,
+                                                  Consumer<AccessRecord> consumer) {
+        return 0;
+    }
+
+    @Override
+    public Optional<PresenceState> findLatestStateByEmployeeID(String employeeID) {
+        return Optional.empty();
+    }
+
+    @Override
+    public AccessRecord save(AccessRecord accessRecord) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AccessRecord> saveAll(List<AccessRecord> accessRecords) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<AccessRecord> findById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long count() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long countSince(LocalDateTime since) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<PresenceState> findLatestStateByEmployeeCode(String employeeCode) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AccessRecord> findMissingEmployeeCodeAfter(Long afterId, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int assignEmployeeCode(String employeeID, String employeeCode) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AccessRecord> findPageAfter(AccessCursor after, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AccessRecord> findPageByEmployeeCodeAfter(String employeeCode, AccessCursor after, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AccessRecord> findPageByEmployeeIdAfter(Long employeeId, AccessCursor after, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AccessRecord> findPageByDateRangeAfter(LocalDateTime start, LocalDateTime end, AccessCursor after, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AccessRecord> findPageByEmployeeCodeAndDateRangeAfter(String employeeCode, LocalDateTime start, LocalDateTime end,
+                                                                      AccessCursor after, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AccessRecord> findPageByEmployeeIdAndDateRangeAfter(Long employeeId, LocalDateTime start, LocalDateTime end,
+                                                                    AccessCursor after, int limit) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,40 @@
+package com.accesscontrol.accesscontrol.benchmark;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.DailyAttendance;
+import com.accesscontrol.accesscontrol.domain.port.out.DailyAttendancePort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Proyección diaria fija: devuelve siempre las mismas filas
+ */
+class InMemoryDailyAttendance implements DailyAttendancePort {
+
+    private final List<DailyAttendance> attendances;
+
+    InMemoryDailyAttendance(List<DailyAttendance> attendances) {
+        this.attendances = attendances;
+    }
+
+    @Override
+    public void apply(AccessRecord accessRecord) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void applyAll(List<AccessRecord> accessRecords) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<DailyAttendance> findByDate(LocalDate date) {
+        return attendances;
+    }
+
+    @Override
+    public int rebuild(LocalDate date) {
+        throw new UnsupportedOperationException();
+    }
+}
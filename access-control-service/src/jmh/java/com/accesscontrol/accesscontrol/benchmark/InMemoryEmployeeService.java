@@ -0,0 +1,45 @@
+package com.accesscontrol.accesscontrol.benchmark;
+
+import com.accesscontrol.accesscontrol.domain.port.out.EmployeeServicePort;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Directorio de empleados en memoria, equivalente a employee-service servido desde caché
+ */
+class InMemoryEmployeeService implements EmployeeServicePort {
+
+    private final Map<String, Map<String, Object>> byDocument = new HashMap<>();
+
+    void add(String document) {
+        byDocument.put(document, Map.of(
+                "document", document,
+                "employeeCode", "EMP" + document,
+                "firstname", "Nombre" + document,
+                "lastname", "Apellido" + document));
+    }
+
+    @Override
+    public Map<String, Object> getEmployeeByDocument(String document) {
+        return byDocument.get(document);
+    }
+
+    @Override
+    public Map<String, Object> getEmployeeByCode(String employeeCode) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> getEmployeesByDocuments(Collection<String> documents) {
+        Map<String, Map<String, Object>> employees = new HashMap<>(documents.size() * 2);
+        for (String document : documents) {
+            Map<String, Object> employee = byDocument.get(document);
+            if (employee != null) {
+                employees.put(document, employee);
+            }
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,31 @@
+package com.accesscontrol.accesscontrol.benchmark;
+
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
+import com.accesscontrol.accesscontrol.domain.port.out.PresenceStatePort;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Índice de presencia en memoria, siempre precargado
+ */
+class InMemoryPresenceState implements PresenceStatePort {
+
+    private final Map<String, PresenceState> states = new HashMap<>();
+
+    @Override
+    public Optional<PresenceState> findByEmployeeID(String employeeID) {
+        return Optional.ofNullable(states.get(employeeID));
+    }
+
+    @Override
+    public boolean isWarm() {
+        return true;
+    }
+
+    @Override
+    public void update(PresenceState state) {
+        states.put(state.getEmployeeID(), state);
+    }
+}
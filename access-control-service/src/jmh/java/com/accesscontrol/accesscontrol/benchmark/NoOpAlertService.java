@@ -0,0 +1,13 @@
+package com.accesscontrol.accesscontrol.benchmark;
+
+import com.accesscontrol.accesscontrol.domain.port.out.AlertServicePort;
+
+/**
+ * Alertas descartadas: los benchmarks miden el camino válido
+ */
+class NoOpAlertService implements AlertServicePort {
+
+    @Override
+    public void sendAlert(String code, String description, String employeeIdentifier) {
+    }
+}
@@ -2,8 +2,10 @@ package com.accesscontrol.accesscontrol;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AccessControlServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(AccessControlServiceApplication.class, args);
@@ -1,27 +1,38 @@
 package com.accesscontrol.accesscontrol.application.service;
 
+import com.accesscontrol.accesscontrol.domain.model.AccessCursor;
 import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.DailyAttendance;
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordExportPort;
 import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
+import com.accesscontrol.accesscontrol.domain.port.out.AlertServicePort;
+import com.accesscontrol.accesscontrol.domain.port.out.DailyAttendancePort;
 import com.accesscontrol.accesscontrol.domain.port.out.EmployeeServicePort;
+import com.accesscontrol.accesscontrol.domain.service.SessionPairingEngine;
+import com.accesscontrol.accesscontrol.dto.AccessHistoryPageDTO;
 import com.accesscontrol.accesscontrol.dto.AccessRecordDTO;
+import com.accesscontrol.accesscontrol.dto.AccessStatsDTO;
 import com.accesscontrol.accesscontrol.dto.EmployeeAccessReportDTO;
 import com.accesscontrol.accesscontrol.dto.EmployeeDetailedReportDTO;
 import com.accesscontrol.accesscontrol.exception.AccessValidationException;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import static com.accesscontrol.accesscontrol.config.MetricsConfig.*;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -40,11 +51,17 @@ public class AccessControlService {
     private AccessRecordRepositoryPort accessRecordRepositoryPort;
     
     @Autowired
-    private RabbitTemplate rabbitTemplate;
+    private AccessRecordExportPort accessRecordExportPort;
+    
+    @Autowired
+    private AlertServicePort alertServicePort;
     
     @Autowired
     private EmployeeServicePort employeeServicePort;
     
+    @Autowired
+    private DailyAttendancePort dailyAttendancePort;
+    
     // Métricas Prometheus
     @Autowired
     @Qualifier("accessRecordsCreatedCounter")
@@ -69,9 +86,11 @@ public class AccessControlService {
     @Qualifier("employeeServiceCallTimer")
     private Timer employeeServiceCallTimer;
     
-    private static final String ALERT_QUEUE = "alert.queue";
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
 
     /**
      * Registra un nuevo acceso de empleado
@@ -201,14 +220,14 @@ public class AccessControlService {
                 }
                 
                 // Obtener el último acceso del empleado
-                List<AccessRecord> latestRecords;
+                Optional<PresenceState> latestState;
                 if (accessRecordDTO.getEmployeeID() != null) {
-                    latestRecords = accessRecordRepositoryPort.findLatestByEmployeeID(accessRecordDTO.getEmployeeID());
+                    latestState = accessRecordRepositoryPort.findLatestStateByEmployeeID(accessRecordDTO.getEmployeeID());
                 } else {
-                    latestRecords = accessRecordRepositoryPort.findLatestByEmployeeCode(accessRecordDTO.getEmployeeCode());
+                    latestState = accessRecordRepositoryPort.findLatestStateByEmployeeCode(accessRecordDTO.getEmployeeCode());
                 }
                 
-                if (latestRecords.isEmpty()) {
+                if (latestState.isEmpty()) {
                     // Si no hay registros previos y se intenta salir, es un error
                     if (requestedType == AccessRecord.AccessType.EXIT) {
                         getAccessValidationFailedCounter(meterRegistry, "exit_without_entry").increment();
@@ -223,7 +242,7 @@ public class AccessControlService {
                     return;
                 }
                 
-                AccessRecord lastRecord = latestRecords.get(0);
+                PresenceState lastRecord = latestState.get();
                 
                 if (requestedType == AccessRecord.AccessType.ENTRY) {
                     // Validar que no haya un ingreso previo sin salida
@@ -263,98 +282,54 @@ public class AccessControlService {
      * Envía una alerta a través de RabbitMQ
      */
     private void sendAlert(String code, String description, String employeeIdentifier) {
-        try {
-            com.accesscontrol.accesscontrol.dto.AlertEvent alertEvent = new com.accesscontrol.accesscontrol.dto.AlertEvent();
-            alertEvent.setCode(code);
-            alertEvent.setDescription(description);
-            alertEvent.setEmployeeCode(employeeIdentifier);
-            alertEvent.setTimestamp(LocalDateTime.now().toString());
-            
-            rabbitTemplate.convertAndSend(ALERT_QUEUE, alertEvent);
-            getAlertsSentCounter(meterRegistry, code).increment();
-        } catch (Exception e) {
-            // Log error pero no fallar la transacción
-            System.err.println("Error enviando alerta: " + e.getMessage());
-        }
+        // Queda en el outbox de la transacción; el relay la publica sin bloquear la validación
+        alertServicePort.sendAlert(code, description, employeeIdentifier);
     }
 
     /**
-     * Obtiene todo el historial de acceso con actualización de employeeCode si falta
+     * Historial paginado por cursor (accessTimestamp, id), con los mismos filtros que /access/history.
+     * Se pide un registro de más para saber si hay página siguiente sin contar filas.
      */
-    public List<AccessRecordDTO> getAllAccessHistory() {
-        try {
-            return accessHistoryQueryTimer.recordCallable(() -> {
-                List<AccessRecord> records = accessRecordRepositoryPort.findAll();
-                System.out.println("getAllAccessHistory: Encontrados " + records.size() + " registros");
-                
-                // Actualizar registros que no tengan employeeCode
-                for (AccessRecord record : records) {
-                    if ((record.getEmployeeCode() == null || record.getEmployeeCode().trim().isEmpty()) 
-                        && record.getEmployeeID() != null && !record.getEmployeeID().trim().isEmpty()) {
-                        try {
-                            System.out.println("Buscando employeeCode para registro ID " + record.getId() + " con documento " + record.getEmployeeID());
-                            Map<String, Object> employeeInfo = employeeServicePort.getEmployeeByDocument(record.getEmployeeID());
-                            if (employeeInfo != null && employeeInfo.containsKey("employeeCode")) {
-                                String employeeCode = (String) employeeInfo.get("employeeCode");
-                                System.out.println("Encontrado employeeCode: " + employeeCode + " para documento " + record.getEmployeeID());
-                                if (employeeCode != null && !employeeCode.trim().isEmpty()) {
-                                    record.setEmployeeCode(employeeCode);
-                                    accessRecordRepositoryPort.save(record);
-                                    System.out.println("✓ Actualizado employeeCode para registro " + record.getId() + ": " + record.getEmployeeCode());
-                                }
-                            } else {
-                                System.out.println("✗ No se encontró employeeCode en la respuesta del servicio para documento " + record.getEmployeeID());
-                            }
-                        } catch (Exception e) {
-                            System.err.println("✗ ERROR: No se pudo obtener el código del empleado para documento " + record.getEmployeeID() + ": " + e.getMessage());
-                            e.printStackTrace();
-                        }
-                    } else {
-                        System.out.println("Registro ID " + record.getId() + " ya tiene employeeCode: " + record.getEmployeeCode());
-                    }
-                }
-                
-                // Recargar los registros después de las actualizaciones
-                records = accessRecordRepositoryPort.findAll();
-                
-                // Convertir a DTOs
-                return records.stream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
-            });
-        } catch (Exception e) {
-            throw new RuntimeException("Error getting access history: " + e.getMessage(), e);
-        }
-    }
-
-    public List<AccessRecordDTO> getAccessHistoryByEmployee(Long employeeId) {
-        return accessRecordRepositoryPort.findByEmployeeId(employeeId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-    }
-
-    public List<AccessRecordDTO> getAccessHistoryByEmployeeCode(String employeeCode) {
-        return accessRecordRepositoryPort.findByEmployeeCode(employeeCode).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-    }
-
-    public List<AccessRecordDTO> getAccessHistoryByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return accessRecordRepositoryPort.findByAccessTimestampBetween(startDate, endDate).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-    }
-
-    public List<AccessRecordDTO> getAccessHistoryByEmployeeAndDate(Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {
-        return accessRecordRepositoryPort.findByEmployeeIdAndDateRange(employeeId, startDate, endDate).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public AccessHistoryPageDTO getAccessHistoryPage(Long employeeId, String employeeCode,
+                                                     LocalDateTime startDate, LocalDateTime endDate,
+                                                     String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        AccessCursor after = AccessCursor.decode(cursor);
+        
+        return accessHistoryQueryTimer.record(() -> {
+            List<AccessRecord> records;
+            if (employeeId != null && startDate != null && endDate != null) {
+                records = accessRecordRepositoryPort.findPageByEmployeeIdAndDateRangeAfter(employeeId, startDate, endDate, after, limit + 1);
+            } else if (employeeCode != null && startDate != null && endDate != null) {
+                records = accessRecordRepositoryPort.findPageByEmployeeCodeAndDateRangeAfter(employeeCode, startDate, endDate, after, limit + 1);
+            } else if (employeeId != null) {
+                records = accessRecordRepositoryPort.findPageByEmployeeIdAfter(employeeId, after, limit + 1);
+            } else if (employeeCode != null) {
+                records = accessRecordRepositoryPort.findPageByEmployeeCodeAfter(employeeCode, after, limit + 1);
+            } else if (startDate != null && endDate != null) {
+                records = accessRecordRepositoryPort.findPageByDateRangeAfter(startDate, endDate, after, limit + 1);
+            } else {
+                records = accessRecordRepositoryPort.findPageAfter(after, limit + 1);
+            }
+            
+            boolean hasMore = records.size() > limit;
+            List<AccessRecord> page = hasMore ? records.subList(0, limit) : records;
+            String nextCursor = hasMore ? AccessCursor.after(page.get(page.size() - 1)).encode() : null;
+            return new AccessHistoryPageDTO(page.stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList()), nextCursor);
+        });
     }
 
-    public List<AccessRecordDTO> getAccessHistoryByEmployeeCodeAndDate(String employeeCode, LocalDateTime startDate, LocalDateTime endDate) {
-        return accessRecordRepositoryPort.findByEmployeeCodeAndDateRange(employeeCode, startDate, endDate).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    /**
+     * Totales del dashboard calculados en la base (COUNT), sin recorrer el historial.
+     * "Hoy" se toma desde la medianoche en la zona horaria del servidor.
+     */
+    @Transactional(readOnly = true)
+    public AccessStatsDTO getAccessStats() {
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+        return new AccessStatsDTO(accessRecordRepositoryPort.count(), accessRecordRepositoryPort.countSince(startOfDay));
     }
 
     public AccessRecordDTO getAccessRecordById(Long id) {
@@ -363,93 +338,63 @@ public class AccessControlService {
         return convertToDTO(record);
     }
 
+    /**
+     * Reporte diario leído de la proyección daily_attendance (una fila por empleado)
+     */
+    @Transactional(readOnly = true)
     public List<EmployeeAccessReportDTO> getEmployeesAccessByDate(LocalDateTime date) {
-        LocalDateTime startOfDay = date.toLocalDate().atStartOfDay();
-        LocalDateTime endOfDay = date.toLocalDate().atTime(23, 59, 59);
-
-        List<AccessRecord> records = accessRecordRepositoryPort.findByAccessTimestampBetween(startOfDay, endOfDay);
-
-        Map<String, EmployeeAccessReportDTO> employeeAccessMap = new HashMap<>();
+        List<DailyAttendance> attendances = dailyAttendancePort.findByDate(date.toLocalDate());
 
-        for (AccessRecord record : records) {
-            String employeeDocument = record.getEmployeeID();
-            final String finalEmployeeCode = getOrFetchEmployeeCode(record, employeeDocument);
+        // Nombres de todos los empleados del día en una sola llamada (servida desde caché)
+        Set<String> documents = attendances.stream()
+                .map(DailyAttendance::getEmployeeID)
+                .collect(Collectors.toSet());
+        Map<String, Map<String, Object>> employees = employeeServicePort.getEmployeesByDocuments(documents);
 
-            employeeAccessMap.computeIfAbsent(employeeDocument, doc -> {
-                EmployeeAccessReportDTO dto = new EmployeeAccessReportDTO();
-                dto.setDocument(doc);
-                dto.setEmployeeCode(finalEmployeeCode);
-                // Intentar obtener nombre y apellido del servicio de empleados
-                try {
-                    Map<String, Object> employeeInfo = employeeServicePort.getEmployeeByDocument(doc);
-                    if (employeeInfo != null) {
-                        dto.setEmployeeName((String) employeeInfo.get("firstname") + " " + (String) employeeInfo.get("lastname"));
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error al obtener información del empleado para documento " + doc + ": " + e.getMessage());
-                    dto.setEmployeeName("Desconocido");
-                }
-                return dto;
-            });
-
-            EmployeeAccessReportDTO dto = employeeAccessMap.get(employeeDocument);
-            if (record.getAccessType() == AccessRecord.AccessType.ENTRY) {
-                dto.setEntryTime(record.getAccessTimestamp().format(TIME_FORMATTER));
-            } else if (record.getAccessType() == AccessRecord.AccessType.EXIT) {
-                dto.setExitTime(record.getAccessTimestamp().format(TIME_FORMATTER));
+        List<EmployeeAccessReportDTO> report = new ArrayList<>(attendances.size());
+        for (DailyAttendance attendance : attendances) {
+            Map<String, Object> employeeInfo = employees.get(attendance.getEmployeeID());
+            EmployeeAccessReportDTO dto = new EmployeeAccessReportDTO();
+            dto.setDocument(attendance.getEmployeeID());
+            dto.setEmployeeCode(attendance.getEmployeeCode() != null || employeeInfo == null
+                    ? attendance.getEmployeeCode()
+                    : (String) employeeInfo.get("employeeCode"));
+            dto.setEmployeeName(employeeInfo != null
+                    ? (String) employeeInfo.get("firstname") + " " + (String) employeeInfo.get("lastname")
+                    : "Desconocido");
+            if (attendance.getFirstEntry() != null) {
+                dto.setEntryDateTime(attendance.getFirstEntry());
+                dto.setEntryTime(attendance.getFirstEntry().format(TIME_FORMATTER));
             }
+            if (attendance.getLastExit() != null) {
+                dto.setExitDateTime(attendance.getLastExit());
+                dto.setExitTime(attendance.getLastExit().format(TIME_FORMATTER));
+            }
+            dto.setDuration(formatDuration(attendance.getTotalDuration()));
+            report.add(dto);
         }
-
-        return new ArrayList<>(employeeAccessMap.values());
+        return report;
     }
     
     /**
-     * Obtiene o busca el employeeCode para un registro
+     * Reconstruye la asistencia de un día desde la tabla access (días anteriores a la proyección)
      */
-    private String getOrFetchEmployeeCode(AccessRecord record, String employeeDocument) {
-        String employeeCode = record.getEmployeeCode();
-        
-        // Si el employeeCode es nulo o vacío, intentar obtenerlo del servicio de empleados
-        if ((employeeCode == null || employeeCode.trim().isEmpty()) && employeeDocument != null && !employeeDocument.trim().isEmpty()) {
-            try {
-                Map<String, Object> employeeInfo = employeeServicePort.getEmployeeByDocument(employeeDocument);
-                if (employeeInfo != null && employeeInfo.containsKey("employeeCode")) {
-                    String fetchedCode = (String) employeeInfo.get("employeeCode");
-                    // Actualizar el registro en la base de datos si se obtuvo el código
-                    if (fetchedCode != null && !fetchedCode.trim().isEmpty()) {
-                        record.setEmployeeCode(fetchedCode);
-                        accessRecordRepositoryPort.save(record);
-                        employeeCode = fetchedCode;
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("Error al obtener employeeCode para documento " + employeeDocument + ": " + e.getMessage());
-            }
-        }
-        
-        return employeeCode;
+    public int rebuildDailyAttendance(LocalDate date) {
+        return dailyAttendancePort.rebuild(date);
     }
 
-    public List<EmployeeDetailedReportDTO> getEmployeeReportByDateRange(String document, LocalDateTime startDate, LocalDateTime endDate) {
-        List<AccessRecord> records = accessRecordRepositoryPort.findByEmployeeIDAndDateRange(document, startDate, endDate);
-        
-        // Si no se encuentran registros por employeeID, intentar por employeeCode
-        if (records.isEmpty()) {
-            String employeeCode = null;
-            try {
-                Map<String, Object> employeeInfo = employeeServicePort.getEmployeeByDocument(document);
-                if (employeeInfo != null && employeeInfo.containsKey("employeeCode")) {
-                    employeeCode = (String) employeeInfo.get("employeeCode");
-                }
-            } catch (Exception e) {
-                System.err.println("No se pudo obtener el código del empleado para documento " + document + ": " + e.getMessage());
-            }
-
-            if (employeeCode != null && !employeeCode.trim().isEmpty()) {
-                records = accessRecordRepositoryPort.findByEmployeeCodeAndDateRange(employeeCode, startDate, endDate);
-            }
-        }
-
+    /**
+     * Reporte por rango: empareja ingresos y salidas en una sola pasada sobre los accesos
+     * ordenados (ver {@link SessionPairingEngine}). Cada salida que cierra una sesión lleva su duración.
+     *
+     * Las líneas se entregan a items a medida que se emparejan, sin acumular el reporte. El método
+     * no abre transacción: la consulta HTTP a employee-service no retiene una conexión del pool y
+     * cada recorrido de accesos abre la suya, de sólo lectura, en el adaptador.
+     * Devuelve la cantidad de líneas entregadas.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long getEmployeeReportByDateRange(String document, LocalDateTime startDate, LocalDateTime endDate,
+                                             Consumer<EmployeeDetailedReportDTO> items) {
         // Obtener información del empleado una sola vez
         Map<String, Object> employeeInfo = employeeServicePort.getEmployeeByDocument(document);
         String employeeName = "Desconocido";
@@ -458,44 +403,45 @@ public class AccessControlService {
             employeeName = (String) employeeInfo.get("firstname") + " " + (String) employeeInfo.get("lastname");
             employeeCode = (String) employeeInfo.get("employeeCode");
         }
-
-        List<EmployeeDetailedReportDTO> report = new ArrayList<>();
-        for (int i = 0; i < records.size(); i++) {
-            AccessRecord entryRecord = records.get(i);
-            if (entryRecord.getAccessType() == AccessRecord.AccessType.ENTRY) {
-                EmployeeDetailedReportDTO reportItem = new EmployeeDetailedReportDTO();
-                reportItem.setDocument(entryRecord.getEmployeeID());
-                reportItem.setEmployeeCode(employeeCode != null ? employeeCode : entryRecord.getEmployeeCode());
-                reportItem.setEmployeeName(employeeName);
-                reportItem.setAccessDateTime(entryRecord.getAccessTimestamp());
-                reportItem.setAccessType(entryRecord.getAccessType().name());
-                reportItem.setAccessTime(entryRecord.getAccessTimestamp().format(TIME_FORMATTER));
-                reportItem.setDate(entryRecord.getAccessTimestamp().format(DATE_FORMATTER));
-
-                report.add(reportItem);
-                
-                // Buscar la salida correspondiente para el próximo registro
-                for (int j = i + 1; j < records.size(); j++) {
-                    AccessRecord currentRecord = records.get(j);
-                    if (currentRecord.getAccessType() == AccessRecord.AccessType.EXIT &&
-                        currentRecord.getAccessTimestamp().isAfter(entryRecord.getAccessTimestamp())) {
-                        // Agregar salida como registro separado
-                        EmployeeDetailedReportDTO exitItem = new EmployeeDetailedReportDTO();
-                        exitItem.setDocument(currentRecord.getEmployeeID());
-                        exitItem.setEmployeeCode(employeeCode != null ? employeeCode : currentRecord.getEmployeeCode());
-                        exitItem.setEmployeeName(employeeName);
-                        exitItem.setAccessDateTime(currentRecord.getAccessTimestamp());
-                        exitItem.setAccessType(currentRecord.getAccessType().name());
-                        exitItem.setAccessTime(currentRecord.getAccessTimestamp().format(TIME_FORMATTER));
-                        exitItem.setDate(currentRecord.getAccessTimestamp().format(DATE_FORMATTER));
-                        report.add(exitItem);
-                        i = j;
-                        break;
-                    }
+        
+        final String name = employeeName;
+        final String code = employeeCode;
+        long[] lines = {0};
+        SessionPairingEngine engine = new SessionPairingEngine(session -> {
+            if (session.getEntry() != null) {
+                items.accept(toDetailedReportItem(session.getEntry(), code, name));
+                lines[0]++;
+            }
+            if (session.getExit() != null) {
+                EmployeeDetailedReportDTO exitItem = toDetailedReportItem(session.getExit(), code, name);
+                if (session.isComplete()) {
+                    exitItem.setDuration(formatDuration(session.getDuration()));
                 }
+                items.accept(exitItem);
+                lines[0]++;
             }
+        });
+        
+        long records = accessRecordExportPort.forEachByEmployeeIDAndDateRange(document, startDate, endDate, engine);
+        
+        // Si no se encuentran registros por employeeID, intentar por employeeCode
+        if (records == 0 && code != null && !code.trim().isEmpty()) {
+            accessRecordExportPort.forEachByEmployeeCodeAndDateRange(code, startDate, endDate, engine);
         }
-        return report;
+        engine.finish();
+        return lines[0];
+    }
+    
+    private EmployeeDetailedReportDTO toDetailedReportItem(AccessRecord record, String employeeCode, String employeeName) {
+        EmployeeDetailedReportDTO reportItem = new EmployeeDetailedReportDTO();
+        reportItem.setDocument(record.getEmployeeID());
+        reportItem.setEmployeeCode(employeeCode != null ? employeeCode : record.getEmployeeCode());
+        reportItem.setEmployeeName(employeeName);
+        reportItem.setAccessDateTime(record.getAccessTimestamp());
+        reportItem.setAccessType(record.getAccessType().name());
+        reportItem.setAccessTime(record.getAccessTimestamp().format(TIME_FORMATTER));
+        reportItem.setDate(record.getAccessTimestamp().format(DATE_FORMATTER));
+        return reportItem;
     }
 
     private String formatDuration(Duration duration) {
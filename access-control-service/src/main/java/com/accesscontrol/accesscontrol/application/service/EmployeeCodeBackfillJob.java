@@ -0,0 +1,107 @@
+package com.accesscontrol.accesscontrol.application.service;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
+import com.accesscontrol.accesscontrol.domain.port.out.EmployeeServicePort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.accesscontrol.accesscontrol.config.MetricsConfig.getEmployeeCodeBackfillCounter;
+
+/**
+ * Backfill de employeeCode en segundo plano
+ * Arquitectura Hexagonal: Application Layer
+ *
+ * Recorre la tabla access por id en lotes acotados, resuelve los documentos de cada lote con
+ * una sola llamada a employee-service y asigna el código con un UPDATE por documento. Cada
+ * UPDATE es su propia transacción, así que las lecturas del historial nunca esperan al backfill.
+ *
+ * El progreso es reanudable: los registros ya completados dejan de cumplir el filtro, y el
+ * cursor evita releer en la misma pasada los documentos que employee-service no conoce.
+ * Al terminar una pasada el cursor vuelve a 0 para reintentarlos más adelante.
+ */
+@Component
+@ConditionalOnProperty(name = "access.backfill.employee-code.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeCodeBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeCodeBackfillJob.class);
+
+    private final AccessRecordRepositoryPort accessRecordRepositoryPort;
+    private final EmployeeServicePort employeeServicePort;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong cursor = new AtomicLong(0);
+
+    @Value("${access.backfill.employee-code.batch-size:500}")
+    private int batchSize;
+
+    @Value("${access.backfill.employee-code.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    public EmployeeCodeBackfillJob(AccessRecordRepositoryPort accessRecordRepositoryPort,
+                                   EmployeeServicePort employeeServicePort,
+                                   MeterRegistry meterRegistry) {
+        this.accessRecordRepositoryPort = accessRecordRepositoryPort;
+        this.employeeServicePort = employeeServicePort;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("access_employee_code_backfill_cursor", cursor, AtomicLong::get)
+                .description("Last access record id examined by the current employeeCode backfill pass")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${access.backfill.employee-code.initial-delay:30000}",
+               fixedDelayString = "${access.backfill.employee-code.fixed-delay:60000}")
+    public void run() {
+        for (int batches = 0; batches < maxBatchesPerRun; batches++) {
+            List<AccessRecord> batch = accessRecordRepositoryPort.findMissingEmployeeCodeAfter(cursor.get(), batchSize);
+            if (batch.isEmpty()) {
+                if (cursor.get() > 0) {
+                    logger.info("Backfill de employeeCode: pasada completa hasta el registro {}", cursor.get());
+                }
+                cursor.set(0);
+                return;
+            }
+            processBatch(batch);
+            cursor.set(batch.get(batch.size() - 1).getId());
+        }
+        logger.debug("Backfill de employeeCode: se continuará desde el registro {}", cursor.get());
+    }
+
+    private void processBatch(List<AccessRecord> batch) {
+        Map<String, Long> recordsByDocument = batch.stream()
+                .filter(record -> record.getEmployeeID() != null && !record.getEmployeeID().trim().isEmpty())
+                .collect(Collectors.groupingBy(AccessRecord::getEmployeeID, Collectors.counting()));
+        long withoutDocument = batch.size() - recordsByDocument.values().stream().mapToLong(Long::longValue).sum();
+        getEmployeeCodeBackfillCounter(meterRegistry, "unresolved").increment(withoutDocument);
+
+        Set<String> documents = recordsByDocument.keySet();
+        Map<String, Map<String, Object>> employees = employeeServicePort.getEmployeesByDocuments(documents);
+
+        for (String document : documents) {
+            Map<String, Object> employeeInfo = employees.get(document);
+            String employeeCode = employeeInfo != null ? (String) employeeInfo.get("employeeCode") : null;
+            if (employeeCode == null || employeeCode.trim().isEmpty()) {
+                getEmployeeCodeBackfillCounter(meterRegistry, "unresolved").increment(recordsByDocument.get(document));
+                continue;
+            }
+            try {
+                int updated = accessRecordRepositoryPort.assignEmployeeCode(document, employeeCode);
+                getEmployeeCodeBackfillCounter(meterRegistry, "updated").increment(updated);
+            } catch (RuntimeException e) {
+                logger.warn("Backfill de employeeCode: no se pudo actualizar el documento {}: {}", document, e.getMessage());
+                getEmployeeCodeBackfillCounter(meterRegistry, "failed").increment(recordsByDocument.get(document));
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.accesscontrol.accesscontrol.application.usecase;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessBatchItemResult;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
+import com.accesscontrol.accesscontrol.domain.port.in.RegisterAccessBatchUseCasePort;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
+import com.accesscontrol.accesscontrol.domain.port.out.AlertServicePort;
+import com.accesscontrol.accesscontrol.domain.port.out.EmployeeLockPort;
+import com.accesscontrol.accesscontrol.domain.port.out.PresenceStatePort;
+import com.accesscontrol.accesscontrol.domain.service.AccessValidationService;
+import com.accesscontrol.accesscontrol.exception.AccessValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.accesscontrol.accesscontrol.config.MetricsConfig.getAccessBatchItemsCounter;
+
+/**
+ * Caso de uso: Registrar accesos por lotes
+ * Arquitectura Hexagonal: Application Layer
+ *
+ * Pensado para los torniquetes que acumulan eventos sin red y los reenvían juntos. Los eventos
+ * se validan en el orden del lote contra el índice de presencia más los aceptados del mismo
+ * lote, sin consultar la base por evento, y los aceptados se guardan con INSERT por lotes JDBC.
+ * Un evento rechazado no invalida al resto.
+ *
+ * El lote se agrupa por empleado y se procesa en transacciones cortas de hasta
+ * access.batch.employees-per-transaction empleados: cada una bloquea sólo las franjas de sus
+ * empleados y las suelta al confirmar, así un lote de 1000 eventos no deja esperando a los
+ * ingresos individuales hasta el timeout. Todos los eventos de un empleado van en la misma
+ * transacción, en el orden del lote.
+ *
+ * Si la transacción de un grupo falla, sólo sus eventos aceptados pasan a STORAGE_ERROR (se
+ * pueden reenviar); los rechazos de validación se mantienen y sus alertas, que se perdieron con
+ * el rollback, se vuelven a escribir en una transacción aparte.
+ */
+@Service
+public class RegisterAccessBatchUseCase implements RegisterAccessBatchUseCasePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisterAccessBatchUseCase.class);
+
+    private static final DateTimeFormatter ACCESS_DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final AccessRecordRepositoryPort repository;
+    private final AlertServicePort alertService;
+    private final PresenceStatePort presenceState;
+    private final AccessValidationService validationService;
+    private final EmployeeLockPort employeeLock;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final int employeesPerTransaction;
+
+    public RegisterAccessBatchUseCase(
+            AccessRecordRepositoryPort repository,
+            AlertServicePort alertService,
+            PresenceStatePort presenceState,
+            AccessValidationService validationService,
+            EmployeeLockPort employeeLock,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${access.batch.max-size:1000}") int maxBatchSize,
+            @Value("${access.batch.employees-per-transaction:16}") int employeesPerTransaction) {
+        this.repository = repository;
+        this.alertService = alertService;
+        this.presenceState = presenceState;
+        this.validationService = validationService;
+        this.employeeLock = employeeLock;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+        this.employeesPerTransaction = Math.max(1, employeesPerTransaction);
+    }
+
+    @Override
+    public List<AccessBatchItemResult> execute(List<AccessRecord> accessRecords) {
+        if (accessRecords.size() > maxBatchSize) {
+            throw new IllegalArgumentException("El lote tiene " + accessRecords.size()
+                    + " eventos; el máximo es " + maxBatchSize);
+        }
+
+        AccessBatchItemResult[] results = new AccessBatchItemResult[accessRecords.size()];
+        Map<String, List<Integer>> byEmployee = new LinkedHashMap<>();
+        for (int i = 0; i < accessRecords.size(); i++) {
+            if (accessRecords.get(i).getAccessType() == null) {
+                results[i] = AccessBatchItemResult.rejected(i, "INVALID_ACCESS_TYPE",
+                        "El tipo de acceso debe ser ENTRY o EXIT");
+                continue;
+            }
+            byEmployee.computeIfAbsent(accessRecords.get(i).getEmployeeID(), employeeID -> new ArrayList<>()).add(i);
+        }
+
+        List<String> employees = new ArrayList<>(byEmployee.keySet());
+        int saved = 0;
+        for (int from = 0; from < employees.size(); from += employeesPerTransaction) {
+            List<String> group = employees.subList(from, Math.min(from + employeesPerTransaction, employees.size()));
+            List<Integer> indexes = group.stream()
+                    .flatMap(employeeID -> byEmployee.get(employeeID).stream())
+                    .sorted()
+                    .collect(Collectors.toList());
+            GroupAlerts alerts = new GroupAlerts(alertService);
+            try {
+                // Mismo bloqueo que el registro individual, tomado antes de abrir la transacción del grupo
+                Integer groupSaved = employeeLock.callWithLocks(new HashSet<>(group), () ->
+                        transactionTemplate.execute(status -> registerGroup(accessRecords, indexes, results, alerts)));
+                saved += groupSaved != null ? groupSaved : 0;
+            } catch (RuntimeException e) {
+                // Sólo se pierde la transacción de este grupo: lo confirmado antes queda guardado
+                logger.warn("No se pudieron guardar {} eventos del lote: {}", indexes.size(), e.getMessage());
+                for (int index : indexes) {
+                    if (results[index] == null || results[index].isAccepted()) {
+                        results[index] = AccessBatchItemResult.rejected(index, "STORAGE_ERROR",
+                                "No se pudo guardar el evento; se puede reenviar");
+                    }
+                }
+                resendAlerts(alerts);
+            }
+        }
+
+        getAccessBatchItemsCounter(meterRegistry, "accepted").increment(saved);
+        getAccessBatchItemsCounter(meterRegistry, "rejected").increment(accessRecords.size() - saved);
+        return List.of(results);
+    }
+
+    /**
+     * Valida y guarda los eventos de un grupo de empleados dentro de la transacción en curso.
+     * Devuelve la cantidad de eventos guardados.
+     */
+    private int registerGroup(List<AccessRecord> accessRecords, List<Integer> indexes,
+                              AccessBatchItemResult[] results, GroupAlerts alerts) {
+        BatchPresenceState batchState = new BatchPresenceState(presenceState);
+        List<AccessRecord> accepted = new ArrayList<>(indexes.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+            AccessRecord accessRecord = accessRecords.get(i);
+            stampIfMissing(accessRecord);
+            try {
+                validationService.validateAccess(accessRecord, repository, batchState, alerts);
+            } catch (AccessValidationException ex) {
+                results[i] = AccessBatchItemResult.rejected(i, ex.getAlertCode(), ex.getMessage());
+                continue;
+            }
+            batchState.accept(accessRecord);
+            accepted.add(accessRecord);
+            acceptedIndexes.add(i);
+        }
+
+        List<AccessRecord> saved = repository.saveAll(accepted);
+        for (int k = 0; k < saved.size(); k++) {
+            int index = acceptedIndexes.get(k);
+            results[index] = AccessBatchItemResult.accepted(index, saved.get(k));
+        }
+        return saved.size();
+    }
+
+    /**
+     * Las alertas de los rechazos se escribieron en la transacción que hizo rollback
+     */
+    private void resendAlerts(GroupAlerts alerts) {
+        if (alerts.sent.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> alerts.sent.forEach(alert ->
+                    alertService.sendAlert(alert[0], alert[1], alert[2])));
+        } catch (RuntimeException e) {
+            logger.error("No se pudieron reescribir {} alertas del lote: {}", alerts.sent.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Un evento reenviado sin hora se registra con la hora de recepción, como el ingreso individual
+     */
+    private void stampIfMissing(AccessRecord accessRecord) {
+        if (accessRecord.getAccessTimestamp() == null) {
+            accessRecord.setAccessTimestamp(LocalDateTime.now());
+        }
+        if (accessRecord.getAccessdatetime() == null || accessRecord.getAccessdatetime().isEmpty()) {
+            accessRecord.setAccessdatetime(accessRecord.getAccessTimestamp().format(ACCESS_DATETIME_FORMATTER));
+        }
+    }
+
+    /**
+     * Reenvía al puerto real y recuerda lo enviado por si la transacción del grupo hace rollback
+     */
+    private static final class GroupAlerts implements AlertServicePort {
+
+        private final AlertServicePort delegate;
+        private final List<String[]> sent = new ArrayList<>();
+
+        private GroupAlerts(AlertServicePort delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void sendAlert(String code, String description, String employeeIdentifier) {
+            delegate.sendAlert(code, description, employeeIdentifier);
+            sent.add(new String[] {code, description, employeeIdentifier});
+        }
+    }
+
+    /**
+     * Vista del índice de presencia con los eventos ya aceptados en el lote por encima. Las
+     * escrituras quedan locales: el índice real se actualiza recién cuando el lote confirma.
+     */
+    private static final class BatchPresenceState implements PresenceStatePort {
+
+        private final PresenceStatePort delegate;
+        private final Map<String, PresenceState> pending = new HashMap<>();
+
+        private BatchPresenceState(PresenceStatePort delegate) {
+            this.delegate = delegate;
+        }
+
+        private void accept(AccessRecord accessRecord) {
+            pending.put(accessRecord.getEmployeeID(), PresenceState.from(accessRecord));
+        }
+
+        @Override
+        public Optional<PresenceState> findByEmployeeID(String employeeID) {
+            PresenceState state = pending.get(employeeID);
+            return state != null ? Optional.of(state) : delegate.findByEmployeeID(employeeID);
+        }
+
+        @Override
+        public boolean isWarm() {
+            return delegate.isWarm();
+        }
+
+        @Override
+        public void update(PresenceState state) {
+            // Estado ya confirmado leído de la base con el índice frío: se propaga como en el ingreso individual
+            delegate.update(state);
+        }
+    }
+}
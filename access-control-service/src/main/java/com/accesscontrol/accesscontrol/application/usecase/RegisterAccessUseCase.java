@@ -4,42 +4,72 @@ import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
 import com.accesscontrol.accesscontrol.domain.port.in.RegisterAccessUseCasePort;
 import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
 import com.accesscontrol.accesscontrol.domain.port.out.AlertServicePort;
+import com.accesscontrol.accesscontrol.domain.port.out.EmployeeLockPort;
+import com.accesscontrol.accesscontrol.domain.port.out.PresenceStatePort;
 import com.accesscontrol.accesscontrol.domain.service.AccessValidationService;
+import com.accesscontrol.accesscontrol.exception.AccessValidationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Caso de uso: Registrar acceso
  * Arquitectura Hexagonal: Application Layer
+ *
+ * El bloqueo por empleado se toma antes de abrir la transacción y se suelta después del commit,
+ * así una marca que espera a otra del mismo empleado no retiene una conexión del pool.
+ *
+ * Un rechazo de validación confirma la transacción en lugar de revertirla: no se guardó ningún
+ * acceso, pero la alerta ya quedó escrita en el outbox y debe publicarse.
  */
 @Service
-@Transactional
 public class RegisterAccessUseCase implements RegisterAccessUseCasePort {
     
     private final AccessRecordRepositoryPort repository;
     private final AlertServicePort alertService;
+    private final PresenceStatePort presenceState;
     private final AccessValidationService validationService;
+    private final EmployeeLockPort employeeLock;
+    private final TransactionTemplate transactionTemplate;
 
     public RegisterAccessUseCase(
             AccessRecordRepositoryPort repository,
             AlertServicePort alertService,
-            AccessValidationService validationService) {
+            PresenceStatePort presenceState,
+            AccessValidationService validationService,
+            EmployeeLockPort employeeLock,
+            PlatformTransactionManager transactionManager) {
         this.repository = repository;
         this.alertService = alertService;
+        this.presenceState = presenceState;
         this.validationService = validationService;
+        this.employeeLock = employeeLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public AccessRecord execute(AccessRecord accessRecord) {
-        // Validar acceso usando servicio de dominio
-        validationService.validateAccess(accessRecord, repository, alertService);
-        
-        // Guardar registro
-        return repository.save(accessRecord);
+        // Dos torniquetes con la misma credencial no pueden validar a la vez contra el mismo estado
+        return employeeLock.callWithLock(accessRecord.getEmployeeID(), () -> register(accessRecord));
     }
-}
-
-
-
 
+    private AccessRecord register(AccessRecord accessRecord) {
+        AccessValidationException[] rejection = new AccessValidationException[1];
+        AccessRecord saved = transactionTemplate.execute(status -> {
+            try {
+                // Validar acceso usando servicio de dominio
+                validationService.validateAccess(accessRecord, repository, presenceState, alertService);
+            } catch (AccessValidationException e) {
+                rejection[0] = e;
+                return null;
+            }
 
+            // Guardar registro
+            return repository.save(accessRecord);
+        });
+        if (rejection[0] != null) {
+            throw rejection[0];
+        }
+        return saved;
+    }
+}
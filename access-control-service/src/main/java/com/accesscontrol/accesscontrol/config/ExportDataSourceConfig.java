@@ -0,0 +1,56 @@
+package com.accesscontrol.accesscontrol.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+/**
+ * Pools de conexiones a MySQL
+ *
+ * El pool principal (spring.datasource) atiende check-ins, consultas y JPA. La exportación y el
+ * reporte por rango de un empleado usan un pool propio y pequeño (access.export.datasource) cuya
+ * URL activa useCursorFetch: sólo esas conexiones leen por cursor del servidor, el resto de las
+ * consultas no paga el round-trip extra por cada bloque de filas.
+ *
+ * Declarar un segundo DataSource desactiva el de Spring Boot, por eso el principal se declara
+ * aquí con las mismas propiedades (spring.datasource y spring.datasource.hikari).
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    public static final String EXPORT_DATA_SOURCE = "exportDataSource";
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    /**
+     * Sin access.export.datasource.url se usa la URL principal (por ejemplo H2 en las pruebas)
+     */
+    @Bean(name = EXPORT_DATA_SOURCE, destroyMethod = "close")
+    public HikariDataSource exportDataSource(DataSourceProperties properties,
+                                             @Value("${access.export.datasource.url:}") String url,
+                                             @Value("${access.export.datasource.maximum-pool-size:2}") int maximumPoolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(url)) {
+            dataSource.setJdbcUrl(url);
+        }
+        dataSource.setPoolName("access-export");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
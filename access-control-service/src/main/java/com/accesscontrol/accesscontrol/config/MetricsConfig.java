@@ -54,6 +54,75 @@ public class MetricsConfig {
                 .register(registry);
     }
     
+    /**
+     * Contador de consultas al índice de presencia (hit, miss, cold)
+     */
+    public static Counter getPresenceLookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("access_presence_lookups_total")
+                .description("Total number of presence index lookups by result")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Contador del backfill de employeeCode (updated, unresolved, failed)
+     */
+    public static Counter getEmployeeCodeBackfillCounter(MeterRegistry registry, String result) {
+        return Counter.builder("access_employee_code_backfill_records_total")
+                .description("Total number of access records processed by the employeeCode backfill")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Contador de eventos recibidos por la ingesta por lotes (accepted, rejected)
+     */
+    public static Counter getAccessBatchItemsCounter(MeterRegistry registry, String result) {
+        return Counter.builder("access_batch_items_total")
+                .description("Total number of access events received through batch ingestion")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Contador de eventos publicados desde el outbox por tipo (ALERT)
+     */
+    public static Counter getOutboxEventsPublishedCounter(MeterRegistry registry, String eventType) {
+        return Counter.builder("access_outbox_events_published_total")
+                .description("Total number of outbox events published and confirmed by the broker")
+                .tag("event_type", eventType)
+                .register(registry);
+    }
+
+    /**
+     * Contador de lotes del outbox que no se pudieron publicar (se reintentan)
+     */
+    public static Counter getOutboxPublishFailuresCounter(MeterRegistry registry) {
+        return Counter.builder("access_outbox_publish_failures_total")
+                .description("Total number of outbox batches that failed to publish")
+                .register(registry);
+    }
+
+    /**
+     * Timer de publicación de un lote del outbox hasta la confirmación del broker
+     */
+    public static Timer getOutboxPublishTimer(MeterRegistry registry) {
+        return Timer.builder("access_outbox_publish_duration_seconds")
+                .description("Time taken to publish and confirm a batch of outbox events")
+                .register(registry);
+    }
+
+    /**
+     * Contador de transiciones del circuit breaker de employee-service (p. ej. CLOSED -> OPEN)
+     */
+    public static Counter getEmployeeServiceCircuitTransitionsCounter(MeterRegistry registry, String from, String to) {
+        return Counter.builder("employee_service_circuit_transitions_total")
+                .description("Total number of employee service circuit breaker state transitions")
+                .tag("from", from)
+                .tag("to", to)
+                .register(registry);
+    }
+
     /**
      * Timer para tiempo de registro de acceso
      */
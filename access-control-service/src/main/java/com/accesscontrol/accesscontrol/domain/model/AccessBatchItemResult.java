@@ -0,0 +1,51 @@
+package com.accesscontrol.accesscontrol.domain.model;
+
+/**
+ * Resultado de un evento dentro de un lote de ingesta
+ * Arquitectura Hexagonal: Domain Layer
+ *
+ * index es la posición del evento en el lote recibido; si fue aceptado lleva el registro
+ * guardado, si fue rechazado el código de alerta y el motivo.
+ */
+public class AccessBatchItemResult {
+
+    private final int index;
+    private final AccessRecord record;
+    private final String alertCode;
+    private final String message;
+
+    private AccessBatchItemResult(int index, AccessRecord record, String alertCode, String message) {
+        this.index = index;
+        this.record = record;
+        this.alertCode = alertCode;
+        this.message = message;
+    }
+
+    public static AccessBatchItemResult accepted(int index, AccessRecord record) {
+        return new AccessBatchItemResult(index, record, null, null);
+    }
+
+    public static AccessBatchItemResult rejected(int index, String alertCode, String message) {
+        return new AccessBatchItemResult(index, null, alertCode, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public AccessRecord getRecord() {
+        return record;
+    }
+
+    public String getAlertCode() {
+        return alertCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isAccepted() {
+        return record != null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.accesscontrol.accesscontrol.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Cursor de paginación por clave (accessTimestamp, id)
+ * Arquitectura Hexagonal: Domain Layer
+ *
+ * Una página continúa estrictamente después del último registro de la anterior, así que el
+ * costo de cada página no depende de cuántas se hayan leído antes (a diferencia de OFFSET).
+ * Para el cliente el cursor es un token opaco.
+ */
+public final class AccessCursor {
+
+    /**
+     * Anterior a cualquier registro: primera página. 1000-01-01 es el mínimo de DATETIME en MySQL.
+     */
+    public static final AccessCursor START = new AccessCursor(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+    private final LocalDateTime accessTimestamp;
+    private final Long id;
+
+    public AccessCursor(LocalDateTime accessTimestamp, Long id) {
+        this.accessTimestamp = Objects.requireNonNull(accessTimestamp, "accessTimestamp");
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    public static AccessCursor after(AccessRecord record) {
+        return new AccessCursor(record.getAccessTimestamp(), record.getId());
+    }
+
+    /**
+     * Decodifica un token generado por {@link #encode()}; nulo o vacío equivale a {@link #START}.
+     */
+    public static AccessCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new AccessCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = accessTimestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getAccessTimestamp() {
+        return accessTimestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
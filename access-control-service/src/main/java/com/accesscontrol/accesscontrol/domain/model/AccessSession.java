@@ -0,0 +1,44 @@
+package com.accesscontrol.accesscontrol.domain.model;
+
+import java.time.Duration;
+
+/**
+ * Sesión en sitio: un ingreso y su salida
+ * Arquitectura Hexagonal: Domain Layer
+ *
+ * Cualquiera de los dos extremos puede faltar: sin salida es una sesión abierta (el empleado
+ * sigue en sitio o no marcó salida); sin ingreso es una salida cuyo ingreso quedó fuera del rango.
+ */
+public class AccessSession {
+
+    private final AccessRecord entry;
+    private final AccessRecord exit;
+
+    public AccessSession(AccessRecord entry, AccessRecord exit) {
+        this.entry = entry;
+        this.exit = exit;
+    }
+
+    public AccessRecord getEntry() {
+        return entry;
+    }
+
+    public AccessRecord getExit() {
+        return exit;
+    }
+
+    public boolean isOpen() {
+        return exit == null;
+    }
+
+    public boolean isComplete() {
+        return entry != null && exit != null;
+    }
+
+    /**
+     * Duración de la sesión; nula si le falta alguno de los extremos
+     */
+    public Duration getDuration() {
+        return isComplete() ? Duration.between(entry.getAccessTimestamp(), exit.getAccessTimestamp()) : null;
+    }
+}
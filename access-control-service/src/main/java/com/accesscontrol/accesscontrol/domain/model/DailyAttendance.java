@@ -0,0 +1,135 @@
+package com.accesscontrol.accesscontrol.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Asistencia diaria de un empleado - Proyección
+ * Arquitectura Hexagonal: Domain Layer
+ *
+ * Resume los accesos de un empleado en un día: primer ingreso, última salida, cantidad de
+ * ingresos y tiempo total en sitio. Se actualiza con cada acceso registrado, así el reporte
+ * diario no tiene que recorrer los registros del día.
+ */
+public class DailyAttendance {
+    private String employeeID;
+    private LocalDate attendanceDate;
+    private String employeeCode;
+    private LocalDateTime firstEntry;
+    private LocalDateTime lastExit;
+    private int entryCount;
+    private long totalSeconds;
+    private LocalDateTime openEntry;  // Ingreso sin salida todavía
+
+    public DailyAttendance() {}
+
+    public DailyAttendance(String employeeID, LocalDate attendanceDate) {
+        this.employeeID = employeeID;
+        this.attendanceDate = attendanceDate;
+    }
+
+    public void registerEntry(LocalDateTime timestamp) {
+        entryCount++;
+        if (firstEntry == null || timestamp.isBefore(firstEntry)) {
+            firstEntry = timestamp;
+        }
+        openEntry = timestamp;
+    }
+
+    /**
+     * Registra la salida; devuelve false si no había un ingreso abierto en este día
+     * (por ejemplo, un turno que empezó el día anterior).
+     */
+    public boolean registerExit(LocalDateTime timestamp) {
+        if (lastExit == null || timestamp.isAfter(lastExit)) {
+            lastExit = timestamp;
+        }
+        return closeOpenEntry(timestamp);
+    }
+
+    /**
+     * Cierra el ingreso abierto sumando el tiempo en sitio hasta timestamp
+     */
+    public boolean closeOpenEntry(LocalDateTime timestamp) {
+        if (openEntry == null) {
+            return false;
+        }
+        totalSeconds += Math.max(0, Duration.between(openEntry, timestamp).getSeconds());
+        openEntry = null;
+        return true;
+    }
+
+    public boolean hasOpenEntry() {
+        return openEntry != null;
+    }
+
+    public Duration getTotalDuration() {
+        return Duration.ofSeconds(totalSeconds);
+    }
+
+    // Getters and Setters
+    public String getEmployeeID() {
+        return employeeID;
+    }
+
+    public void setEmployeeID(String employeeID) {
+        this.employeeID = employeeID;
+    }
+
+    public LocalDate getAttendanceDate() {
+        return attendanceDate;
+    }
+
+    public void setAttendanceDate(LocalDate attendanceDate) {
+        this.attendanceDate = attendanceDate;
+    }
+
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+
+    public void setEmployeeCode(String employeeCode) {
+        this.employeeCode = employeeCode;
+    }
+
+    public LocalDateTime getFirstEntry() {
+        return firstEntry;
+    }
+
+    public void setFirstEntry(LocalDateTime firstEntry) {
+        this.firstEntry = firstEntry;
+    }
+
+    public LocalDateTime getLastExit() {
+        return lastExit;
+    }
+
+    public void setLastExit(LocalDateTime lastExit) {
+        this.lastExit = lastExit;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(int entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public long getTotalSeconds() {
+        return totalSeconds;
+    }
+
+    public void setTotalSeconds(long totalSeconds) {
+        this.totalSeconds = totalSeconds;
+    }
+
+    public LocalDateTime getOpenEntry() {
+        return openEntry;
+    }
+
+    public void setOpenEntry(LocalDateTime openEntry) {
+        this.openEntry = openEntry;
+    }
+}
@@ -0,0 +1,81 @@
+package com.accesscontrol.accesscontrol.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Último estado conocido (ingreso/salida) de un empleado
+ * Arquitectura Hexagonal: Domain Layer
+ *
+ * Es todo lo que la validación de doble ingreso / doble salida necesita saber
+ * del historial de un empleado.
+ */
+public class PresenceState {
+
+    private static final DateTimeFormatter ACCESS_DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String employeeID;
+    private final Long recordId;
+    private final AccessRecord.AccessType accessType;
+    private final LocalDateTime accessTimestamp;
+
+    public PresenceState(String employeeID, Long recordId, AccessRecord.AccessType accessType, LocalDateTime accessTimestamp) {
+        this.employeeID = employeeID;
+        this.recordId = recordId;
+        this.accessType = accessType;
+        this.accessTimestamp = accessTimestamp;
+    }
+
+    public static PresenceState from(AccessRecord record) {
+        return new PresenceState(record.getEmployeeID(), record.getId(), record.getAccessType(), record.getAccessTimestamp());
+    }
+
+    public String getEmployeeID() {
+        return employeeID;
+    }
+
+    public Long getRecordId() {
+        return recordId;
+    }
+
+    public AccessRecord.AccessType getAccessType() {
+        return accessType;
+    }
+
+    public LocalDateTime getAccessTimestamp() {
+        return accessTimestamp;
+    }
+
+    public String getAccessdatetime() {
+        return accessTimestamp != null ? accessTimestamp.format(ACCESS_DATETIME_FORMATTER) : null;
+    }
+
+    public boolean isEntry() {
+        return accessType == AccessRecord.AccessType.ENTRY;
+    }
+
+    public boolean isExit() {
+        return accessType == AccessRecord.AccessType.EXIT;
+    }
+
+    /**
+     * Orden por (accessTimestamp, recordId): el estado más reciente gana,
+     * y ante el mismo instante gana el registro insertado después.
+     */
+    public boolean isNewerThan(PresenceState other) {
+        if (other == null) {
+            return true;
+        }
+        if (accessTimestamp == null || other.accessTimestamp == null) {
+            return other.accessTimestamp == null;
+        }
+        int byTimestamp = accessTimestamp.compareTo(other.accessTimestamp);
+        if (byTimestamp != 0) {
+            return byTimestamp > 0;
+        }
+        if (recordId == null || other.recordId == null) {
+            return true;
+        }
+        return recordId >= other.recordId;
+    }
+}
@@ -0,0 +1,19 @@
+package com.accesscontrol.accesscontrol.domain.port.in;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessBatchItemResult;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+
+import java.util.List;
+
+/**
+ * Puerto de entrada - Caso de uso de ingesta por lotes
+ * Arquitectura Hexagonal: Define el contrato para casos de uso
+ */
+public interface RegisterAccessBatchUseCasePort {
+
+    /**
+     * Valida los eventos en el orden recibido y guarda los aceptados en una sola escritura.
+     * Devuelve un resultado por evento, en el mismo orden del lote.
+     */
+    List<AccessBatchItemResult> execute(List<AccessRecord> accessRecords);
+}
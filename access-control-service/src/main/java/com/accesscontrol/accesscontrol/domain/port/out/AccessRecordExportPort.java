@@ -0,0 +1,26 @@
+package com.accesscontrol.accesscontrol.domain.port.out;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Puerto de salida - Lectura masiva en streaming
+ * Arquitectura Hexagonal: Define el contrato para recorrer access sin cargarla en memoria
+ * (exportación completa y reporte por rango de un empleado)
+ */
+public interface AccessRecordExportPort {
+
+    /**
+     * Entrega los registros de a uno (todos, o los del rango si start y end no son nulos) sin
+     * cargarlos en memoria. Devuelve la cantidad de registros entregados.
+     */
+    long forEachRecord(LocalDateTime start, LocalDateTime end, Consumer<AccessRecord> consumer);
+
+    /**
+     * Accesos de un empleado (por documento o por código) en orden (accessTimestamp, id), de a uno
+     */
+    long forEachByEmployeeIDAndDateRange(String employeeID, LocalDateTime start, LocalDateTime end, Consumer<AccessRecord> consumer);
+    long forEachByEmployeeCodeAndDateRange(String employeeCode, LocalDateTime start, LocalDateTime end, Consumer<AccessRecord> consumer);
+}
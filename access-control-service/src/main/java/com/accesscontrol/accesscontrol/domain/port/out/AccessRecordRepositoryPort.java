@@ -1,6 +1,8 @@
 package com.accesscontrol.accesscontrol.domain.port.out;
 
+import com.accesscontrol.accesscontrol.domain.model.AccessCursor;
 import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,18 +14,39 @@ import java.util.Optional;
  */
 public interface AccessRecordRepositoryPort {
     AccessRecord save(AccessRecord accessRecord);
-    Optional<AccessRecord> findById(Long id);
-    List<AccessRecord> findAll();
-    List<AccessRecord> findByEmployeeID(String employeeID);
-    List<AccessRecord> findByEmployeeCode(String employeeCode);
-    List<AccessRecord> findByEmployeeId(Long employeeId);
-    List<AccessRecord> findByAccessTimestampBetween(LocalDateTime start, LocalDateTime end);
-    List<AccessRecord> findByEmployeeIDAndDateRange(String employeeID, LocalDateTime start, LocalDateTime end);
-    List<AccessRecord> findByEmployeeCodeAndDateRange(String employeeCode, LocalDateTime start, LocalDateTime end);
-    List<AccessRecord> findByEmployeeIdAndDateRange(Long employeeId, LocalDateTime start, LocalDateTime end);
-    List<AccessRecord> findLatestByEmployeeID(String employeeID);
-    List<AccessRecord> findLatestByEmployeeCode(String employeeCode);
-}
 
+    /**
+     * Inserta registros nuevos con escrituras por lotes. Devuelve los registros
+     * guardados, con su id, en el mismo orden recibido.
+     */
+    List<AccessRecord> saveAll(List<AccessRecord> accessRecords);
+    Optional<AccessRecord> findById(Long id);
 
+    // Totales para el dashboard, sin traer filas
+    long count();
+    long countSince(LocalDateTime since);
 
+    Optional<PresenceState> findLatestStateByEmployeeID(String employeeID);
+    Optional<PresenceState> findLatestStateByEmployeeCode(String employeeCode);
+    
+    /**
+     * Registros sin employeeCode con id mayor a afterId, en orden de id (cursor del backfill)
+     */
+    List<AccessRecord> findMissingEmployeeCodeAfter(Long afterId, int limit);
+    
+    /**
+     * Asigna el employeeCode a todos los registros del documento que aún no lo tienen.
+     * Devuelve la cantidad de registros actualizados.
+     */
+    int assignEmployeeCode(String employeeID, String employeeCode);
+    
+    // Historial paginado: hasta limit registros posteriores a after, en orden (accessTimestamp, id)
+    List<AccessRecord> findPageAfter(AccessCursor after, int limit);
+    List<AccessRecord> findPageByEmployeeCodeAfter(String employeeCode, AccessCursor after, int limit);
+    List<AccessRecord> findPageByEmployeeIdAfter(Long employeeId, AccessCursor after, int limit);
+    List<AccessRecord> findPageByDateRangeAfter(LocalDateTime start, LocalDateTime end, AccessCursor after, int limit);
+    List<AccessRecord> findPageByEmployeeCodeAndDateRangeAfter(String employeeCode, LocalDateTime start, LocalDateTime end,
+                                                               AccessCursor after, int limit);
+    List<AccessRecord> findPageByEmployeeIdAndDateRangeAfter(Long employeeId, LocalDateTime start, LocalDateTime end,
+                                                             AccessCursor after, int limit);
+}
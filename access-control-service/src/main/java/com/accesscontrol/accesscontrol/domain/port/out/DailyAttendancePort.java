@@ -0,0 +1,32 @@
+package com.accesscontrol.accesscontrol.domain.port.out;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.DailyAttendance;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Puerto de salida - Proyección de asistencia diaria
+ * Arquitectura Hexagonal: Define el contrato para la tabla daily_attendance
+ */
+public interface DailyAttendancePort {
+
+    /**
+     * Aplica un acceso recién registrado a la fila del empleado y día correspondiente.
+     * Debe ejecutarse en la misma transacción que guarda el acceso.
+     */
+    void apply(AccessRecord accessRecord);
+
+    /**
+     * Aplica varios accesos en orden; cada fila empleado/día se lee y se escribe una sola vez
+     */
+    void applyAll(List<AccessRecord> accessRecords);
+
+    List<DailyAttendance> findByDate(LocalDate date);
+
+    /**
+     * Reconstruye la proyección de un día a partir de la tabla access (datos previos a la proyección)
+     */
+    int rebuild(LocalDate date);
+}
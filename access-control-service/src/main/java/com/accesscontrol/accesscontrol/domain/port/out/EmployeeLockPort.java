@@ -0,0 +1,27 @@
+package com.accesscontrol.accesscontrol.domain.port.out;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Puerto de salida - Exclusión por empleado
+ * Arquitectura Hexagonal: Define el contrato para serializar validar-y-guardar de un mismo empleado
+ *
+ * El bloqueo debe abarcar toda la transacción: el índice de presencia se actualiza recién en el
+ * commit, así que soltarlo antes dejaría pasar un ingreso duplicado. Por eso se toma antes de
+ * abrirla y se suelta después de confirmarla; quien espera un bloqueo no retiene una conexión.
+ */
+public interface EmployeeLockPort {
+
+    /**
+     * Ejecuta la acción con el empleado bloqueado y lo suelta al terminar, aun si falla. La
+     * acción abre y confirma su propia transacción.
+     */
+    <T> T callWithLock(String employeeID, Supplier<T> action);
+
+    /**
+     * Igual que callWithLock para todos los empleados de un lote; los bloqueos se toman
+     * siempre en el mismo orden para que dos lotes no se esperen mutuamente.
+     */
+    <T> T callWithLocks(Collection<String> employeeIDs, Supplier<T> action);
+}
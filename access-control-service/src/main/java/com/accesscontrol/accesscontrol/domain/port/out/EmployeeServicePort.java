@@ -1,5 +1,6 @@
 package com.accesscontrol.accesscontrol.domain.port.out;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -9,6 +10,12 @@ import java.util.Map;
 public interface EmployeeServicePort {
     Map<String, Object> getEmployeeByDocument(String document);
     Map<String, Object> getEmployeeByCode(String employeeCode);
+    
+    /**
+     * Búsqueda masiva por documento en una sola llamada. Los documentos que no
+     * existen (o que no se pudieron consultar) no aparecen en el mapa resultante.
+     */
+    Map<String, Map<String, Object>> getEmployeesByDocuments(Collection<String> documents);
 }
 
 
@@ -0,0 +1,21 @@
+package com.accesscontrol.accesscontrol.domain.port.out;
+
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
+
+import java.util.Optional;
+
+/**
+ * Puerto de salida - Índice de presencia
+ * Arquitectura Hexagonal: Define el contrato para consultar el último estado conocido de cada empleado
+ */
+public interface PresenceStatePort {
+    Optional<PresenceState> findByEmployeeID(String employeeID);
+
+    /**
+     * true cuando el índice ya fue cargado desde la tabla access: a partir de ese momento
+     * la ausencia de un empleado significa que no tiene registros previos.
+     */
+    boolean isWarm();
+
+    void update(PresenceState state);
+}
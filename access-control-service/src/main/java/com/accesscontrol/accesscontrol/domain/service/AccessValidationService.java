@@ -1,12 +1,14 @@
 package com.accesscontrol.accesscontrol.domain.service;
 
 import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
 import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
 import com.accesscontrol.accesscontrol.domain.port.out.AlertServicePort;
+import com.accesscontrol.accesscontrol.domain.port.out.PresenceStatePort;
 import com.accesscontrol.accesscontrol.exception.AccessValidationException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.Optional;
 
 /**
  * Servicio de dominio - Validación de accesos
@@ -17,6 +19,7 @@ public class AccessValidationService {
     
     public void validateAccess(AccessRecord newRecord, 
                                AccessRecordRepositoryPort repository,
+                               PresenceStatePort presenceState,
                                AlertServicePort alertService) {
         String employeeIdentifier = newRecord.getEmployeeID();
 
@@ -29,9 +32,9 @@ public class AccessValidationService {
         AccessRecord.AccessType requestedType = newRecord.getAccessType();
         
         // Obtener el último acceso del empleado
-        List<AccessRecord> latestRecords = repository.findLatestByEmployeeID(employeeIdentifier);
+        Optional<PresenceState> latestState = findLatestState(employeeIdentifier, repository, presenceState);
         
-        if (latestRecords.isEmpty()) {
+        if (latestState.isEmpty()) {
             // Si no hay registros previos y se intenta salir, es un error
             if (requestedType == AccessRecord.AccessType.EXIT) {
                 alertService.sendAlert("EMPLOYEE_ALREADY_LEFT", 
@@ -45,7 +48,7 @@ public class AccessValidationService {
             return;
         }
         
-        AccessRecord lastRecord = latestRecords.get(0);
+        PresenceState lastRecord = latestState.get();
         
         if (requestedType == AccessRecord.AccessType.ENTRY) {
             // Validar que no haya un ingreso previo sin salida
@@ -73,6 +76,23 @@ public class AccessValidationService {
             }
         }
     }
+    
+    /**
+     * Resuelve el último estado desde el índice de presencia en O(1). Sólo consulta la
+     * base de datos cuando el índice todavía no está precargado y no conoce al empleado.
+     */
+    private Optional<PresenceState> findLatestState(String employeeIdentifier,
+                                                    AccessRecordRepositoryPort repository,
+                                                    PresenceStatePort presenceState) {
+        Optional<PresenceState> cached = presenceState.findByEmployeeID(employeeIdentifier);
+        if (cached.isPresent() || presenceState.isWarm()) {
+            return cached;
+        }
+        
+        Optional<PresenceState> fromDatabase = repository.findLatestStateByEmployeeID(employeeIdentifier);
+        fromDatabase.ifPresent(presenceState::update);
+        return fromDatabase;
+    }
 }
 
 
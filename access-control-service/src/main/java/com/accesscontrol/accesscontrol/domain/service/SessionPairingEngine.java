@@ -0,0 +1,60 @@
+package com.accesscontrol.accesscontrol.domain.service;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.AccessSession;
+
+import java.util.function.Consumer;
+
+/**
+ * Servicio de dominio - Emparejamiento de ingresos y salidas
+ * Arquitectura Hexagonal: Domain Layer - Lógica de negocio
+ *
+ * Recorre una sola vez los accesos de un empleado en orden (accessTimestamp, id) y emite cada
+ * sesión apenas se cierra. Sólo recuerda el ingreso abierto, así que la memoria no depende del
+ * largo del rango. Reglas:
+ * - ENTRY con otro ingreso abierto: el anterior se emite como sesión abierta (salida no marcada).
+ * - EXIT sin ingreso abierto: se emite como sesión sin ingreso (ingreso fuera del rango).
+ * - Al terminar, el ingreso que quede abierto se emite como sesión abierta.
+ */
+public class SessionPairingEngine implements Consumer<AccessRecord> {
+
+    private final Consumer<AccessSession> sessions;
+    private AccessRecord openEntry;
+    private AccessRecord previous;
+
+    public SessionPairingEngine(Consumer<AccessSession> sessions) {
+        this.sessions = sessions;
+    }
+
+    @Override
+    public void accept(AccessRecord record) {
+        if (record.getAccessType() == null || record.getAccessTimestamp() == null) {
+            return;
+        }
+        if (previous != null && record.getAccessTimestamp().isBefore(previous.getAccessTimestamp())) {
+            throw new IllegalStateException("Los accesos deben llegar ordenados por fecha: registro "
+                    + record.getId() + " es anterior al registro " + previous.getId());
+        }
+        previous = record;
+
+        if (record.getAccessType() == AccessRecord.AccessType.ENTRY) {
+            if (openEntry != null) {
+                sessions.accept(new AccessSession(openEntry, null));
+            }
+            openEntry = record;
+        } else {
+            sessions.accept(new AccessSession(openEntry, record));
+            openEntry = null;
+        }
+    }
+
+    /**
+     * Emite el ingreso que haya quedado abierto al final del recorrido
+     */
+    public void finish() {
+        if (openEntry != null) {
+            sessions.accept(new AccessSession(openEntry, null));
+            openEntry = null;
+        }
+    }
+}
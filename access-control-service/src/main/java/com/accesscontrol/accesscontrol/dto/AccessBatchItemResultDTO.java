@@ -0,0 +1,63 @@
+package com.accesscontrol.accesscontrol.dto;
+
+/**
+ * Resultado de un evento del lote: index es su posición en el arreglo enviado.
+ * Si success es true lleva el registro guardado; si no, alertCode y message.
+ */
+public class AccessBatchItemResultDTO {
+    private int index;
+    private boolean success;
+    private AccessRecordDTO record;
+    private String alertCode;
+    private String message;
+
+    public AccessBatchItemResultDTO() {}
+
+    public AccessBatchItemResultDTO(int index, boolean success, AccessRecordDTO record, String alertCode, String message) {
+        this.index = index;
+        this.success = success;
+        this.record = record;
+        this.alertCode = alertCode;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public AccessRecordDTO getRecord() {
+        return record;
+    }
+
+    public void setRecord(AccessRecordDTO record) {
+        this.record = record;
+    }
+
+    public String getAlertCode() {
+        return alertCode;
+    }
+
+    public void setAlertCode(String alertCode) {
+        this.alertCode = alertCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,44 @@
+package com.accesscontrol.accesscontrol.dto;
+
+import java.util.List;
+
+/**
+ * Respuesta de la ingesta por lotes: un resultado por evento, en el orden recibido
+ */
+public class AccessBatchResultDTO {
+    private int accepted;
+    private int rejected;
+    private List<AccessBatchItemResultDTO> results;
+
+    public AccessBatchResultDTO() {}
+
+    public AccessBatchResultDTO(List<AccessBatchItemResultDTO> results) {
+        this.results = results;
+        this.accepted = (int) results.stream().filter(AccessBatchItemResultDTO::isSuccess).count();
+        this.rejected = results.size() - accepted;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<AccessBatchItemResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<AccessBatchItemResultDTO> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,55 @@
+package com.accesscontrol.accesscontrol.dto;
+
+import java.util.List;
+
+/**
+ * Página del historial de accesos
+ * nextCursor se envía como parámetro cursor para pedir la página siguiente; es nulo en la última.
+ */
+public class AccessHistoryPageDTO {
+    private List<AccessRecordDTO> items;
+    private int size;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public AccessHistoryPageDTO() {}
+
+    public AccessHistoryPageDTO(List<AccessRecordDTO> items, String nextCursor) {
+        this.items = items;
+        this.size = items.size();
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public List<AccessRecordDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AccessRecordDTO> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,32 @@
+package com.accesscontrol.accesscontrol.dto;
+
+/**
+ * Totales de registros de acceso para el dashboard
+ */
+public class AccessStatsDTO {
+    private long totalRecords;
+    private long todayRecords;
+
+    public AccessStatsDTO() {}
+
+    public AccessStatsDTO(long totalRecords, long todayRecords) {
+        this.totalRecords = totalRecords;
+        this.todayRecords = todayRecords;
+    }
+
+    public long getTotalRecords() {
+        return totalRecords;
+    }
+
+    public void setTotalRecords(long totalRecords) {
+        this.totalRecords = totalRecords;
+    }
+
+    public long getTodayRecords() {
+        return todayRecords;
+    }
+
+    public void setTodayRecords(long todayRecords) {
+        this.todayRecords = todayRecords;
+    }
+}
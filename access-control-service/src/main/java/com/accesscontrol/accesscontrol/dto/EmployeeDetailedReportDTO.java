@@ -13,6 +13,7 @@ public class EmployeeDetailedReportDTO {
     private String accessType;  // ENTRY o EXIT
     private String accessTime;  // Hora formateada
     private String date;  // Fecha formateada
+    private String duration;  // Duración de la sesión (sólo en la salida que la cierra)
 
     public EmployeeDetailedReportDTO() {}
 
@@ -71,9 +72,12 @@ public class EmployeeDetailedReportDTO {
     public void setDate(String date) {
         this.date = date;
     }
-}
-
-
-
 
+    public String getDuration() {
+        return duration;
+    }
 
+    public void setDuration(String duration) {
+        this.duration = duration;
+    }
+}
@@ -1,28 +1,45 @@
 package com.accesscontrol.accesscontrol.infrastructure.adapter.in.web;
 
+import com.accesscontrol.accesscontrol.application.usecase.RegisterAccessBatchUseCase;
 import com.accesscontrol.accesscontrol.application.usecase.RegisterAccessUseCase;
 import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.dto.AccessBatchItemResultDTO;
+import com.accesscontrol.accesscontrol.dto.AccessBatchResultDTO;
+import com.accesscontrol.accesscontrol.dto.AccessHistoryPageDTO;
 import com.accesscontrol.accesscontrol.dto.AccessRecordDTO;
+import com.accesscontrol.accesscontrol.dto.AccessStatsDTO;
 import com.accesscontrol.accesscontrol.dto.EmployeeAccessReportDTO;
-import com.accesscontrol.accesscontrol.dto.EmployeeDetailedReportDTO;
 import com.accesscontrol.accesscontrol.exception.AccessValidationException;
 import com.accesscontrol.accesscontrol.infrastructure.adapter.in.web.mapper.AccessRecordWebMapper;
 import com.accesscontrol.accesscontrol.application.service.AccessControlService;
 import com.accesscontrol.accesscontrol.domain.port.out.EmployeeServicePort;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Controlador Web
@@ -33,19 +50,30 @@ import java.util.Map;
 @Tag(name = "Access Control", description = "API para control de acceso de empleados")
 public class AccessControlController {
     
+    private static final Logger logger = LoggerFactory.getLogger(AccessControlController.class);
+
     private final RegisterAccessUseCase registerAccessUseCase;
+    private final RegisterAccessBatchUseCase registerAccessBatchUseCase;
     private final AccessRecordWebMapper mapper;
     private final AccessControlService accessControlService;
     private final EmployeeServicePort employeeServicePort;
+    private final AccessRecordExportWriter exportWriter;
+    private final ObjectMapper objectMapper;
 
     public AccessControlController(RegisterAccessUseCase registerAccessUseCase, 
+                                   RegisterAccessBatchUseCase registerAccessBatchUseCase,
                                    AccessRecordWebMapper mapper,
                                    AccessControlService accessControlService,
-                                   EmployeeServicePort employeeServicePort) {
+                                   EmployeeServicePort employeeServicePort,
+                                   AccessRecordExportWriter exportWriter,
+                                   ObjectMapper objectMapper) {
         this.registerAccessUseCase = registerAccessUseCase;
+        this.registerAccessBatchUseCase = registerAccessBatchUseCase;
         this.mapper = mapper;
         this.accessControlService = accessControlService;
         this.employeeServicePort = employeeServicePort;
+        this.exportWriter = exportWriter;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Registrar ingreso", description = "Registra el ingreso de un empleado al sistema")
@@ -69,7 +97,7 @@ public class AccessControlController {
                     }
                 } catch (Exception e) {
                     // Si falla, continuar sin employeeCode
-                    System.err.println("No se pudo obtener el código del empleado: " + e.getMessage());
+                    logger.warn("No se pudo obtener el código del empleado {}: {}", accessRecordDTO.getEmployeeID(), e.getMessage());
                 }
             }
             
@@ -106,7 +134,7 @@ public class AccessControlController {
                     }
                 } catch (Exception e) {
                     // Si falla, continuar sin employeeCode
-                    System.err.println("No se pudo obtener el código del empleado: " + e.getMessage());
+                    logger.warn("No se pudo obtener el código del empleado {}: {}", accessRecordDTO.getEmployeeID(), e.getMessage());
                 }
             }
             
@@ -122,6 +150,79 @@ public class AccessControlController {
         }
     }
 
+    @Operation(summary = "Registrar accesos por lotes", description = "Registra en orden los eventos acumulados por un torniquete; "
+            + "cada evento se valida por separado y la respuesta trae un resultado por posición")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado; ver el resultado de cada evento"),
+        @ApiResponse(responseCode = "400", description = "El lote supera el tamaño máximo")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<AccessBatchResultDTO> registerBatch(@RequestBody List<AccessRecordDTO> accessRecordDTOs) {
+        resolveMissingEmployeeCodes(accessRecordDTOs);
+
+        List<AccessRecord> domainRecords = new ArrayList<>(accessRecordDTOs.size());
+        for (AccessRecordDTO dto : accessRecordDTOs) {
+            if (dto == null) {
+                domainRecords.add(new AccessRecord());
+                continue;
+            }
+            if (!isValidAccessType(dto.getAccessType())) {
+                // El caso de uso lo rechaza con INVALID_ACCESS_TYPE sin afectar al resto del lote
+                dto.setAccessType(null);
+            }
+            domainRecords.add(mapper.toDomainEntity(dto));
+        }
+
+        List<AccessBatchItemResultDTO> results = registerAccessBatchUseCase.execute(domainRecords).stream()
+                .map(result -> new AccessBatchItemResultDTO(result.getIndex(), result.isAccepted(),
+                        result.isAccepted() ? mapper.toDTO(result.getRecord()) : null,
+                        result.getAlertCode(), result.getMessage()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(new AccessBatchResultDTO(results));
+    }
+
+    /**
+     * Misma resolución de employeeCode que el ingreso individual, con una sola consulta para todo el lote
+     */
+    private void resolveMissingEmployeeCodes(List<AccessRecordDTO> accessRecordDTOs) {
+        Set<String> documents = accessRecordDTOs.stream()
+                .filter(dto -> dto != null && (dto.getEmployeeCode() == null || dto.getEmployeeCode().trim().isEmpty()))
+                .map(AccessRecordDTO::getEmployeeID)
+                .filter(document -> document != null && !document.trim().isEmpty())
+                .collect(Collectors.toSet());
+        if (documents.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Map<String, Object>> employees = employeeServicePort.getEmployeesByDocuments(documents);
+            for (AccessRecordDTO dto : accessRecordDTOs) {
+                if (dto == null || (dto.getEmployeeCode() != null && !dto.getEmployeeCode().trim().isEmpty())) {
+                    continue;
+                }
+                Map<String, Object> employeeInfo = employees.get(dto.getEmployeeID());
+                if (employeeInfo != null && employeeInfo.get("employeeCode") instanceof String employeeCode
+                        && !employeeCode.trim().isEmpty()) {
+                    dto.setEmployeeCode(employeeCode);
+                }
+            }
+        } catch (Exception e) {
+            // Si falla, continuar sin employeeCode
+            logger.warn("No se pudieron obtener los códigos de los empleados: {}", e.getMessage());
+        }
+    }
+
+    private boolean isValidAccessType(String accessType) {
+        if (accessType == null) {
+            return false;
+        }
+        try {
+            AccessRecord.AccessType.valueOf(accessType.toUpperCase());
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     @Operation(summary = "Reporte de empleados por fecha", description = "Obtiene el reporte de todos los empleados que accedieron en una fecha específica")
     @ApiResponse(responseCode = "200", description = "Reporte generado exitosamente")
     @GetMapping("/allemployeesbydate")
@@ -131,15 +232,43 @@ public class AccessControlController {
         return ResponseEntity.ok(report);
     }
 
-    @Operation(summary = "Reporte de empleado por rango de fechas", description = "Obtiene el reporte detallado de accesos de un empleado en un rango de fechas")
+    @Operation(summary = "Reconstruir reporte diario", description = "Recalcula la asistencia diaria de una fecha a partir de los registros de acceso")
+    @ApiResponse(responseCode = "200", description = "Asistencia reconstruida")
+    @PostMapping("/allemployeesbydate/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildAllEmployeesByDate(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        int applied = accessControlService.rebuildDailyAttendance(date);
+        Map<String, Object> response = new HashMap<>();
+        response.put("date", date.toString());
+        response.put("accessRecords", applied);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Reporte de empleado por rango de fechas", description = "Obtiene el reporte detallado de accesos de un empleado en un rango de fechas; el arreglo JSON se escribe a medida que se generan las líneas")
     @ApiResponse(responseCode = "200", description = "Reporte generado exitosamente")
     @GetMapping("/employeebydates")
-    public ResponseEntity<List<EmployeeDetailedReportDTO>> getEmployeeByDates(
+    public ResponseEntity<StreamingResponseBody> getEmployeeByDates(
             @RequestParam String document,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<EmployeeDetailedReportDTO> report = accessControlService.getEmployeeReportByDateRange(document, startDate, endDate);
-        return ResponseEntity.ok(report);
+        
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                accessControlService.getEmployeeReportByDateRange(document, startDate, endDate, item -> {
+                    try {
+                        generator.writeObject(item);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (UncheckedIOException e) {
+                // El cliente cortó la descarga
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     // Endpoints adicionales para compatibilidad
@@ -156,30 +285,55 @@ public class AccessControlController {
         }
     }
 
+    @Operation(summary = "Historial de accesos", description = "Historial paginado por cursor; enviar nextCursor como cursor para la página siguiente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página del historial"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
     @GetMapping("/history")
-    public ResponseEntity<List<AccessRecordDTO>> getAccessHistory(
+    public ResponseEntity<AccessHistoryPageDTO> getAccessHistory(
             @RequestParam(required = false) Long employeeId,
             @RequestParam(required = false) String employeeCode,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AccessControlService.DEFAULT_PAGE_SIZE) int size) {
         
-        List<AccessRecordDTO> records;
+        AccessHistoryPageDTO page = accessControlService.getAccessHistoryPage(
+                employeeId, employeeCode, startDate, endDate, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Totales de accesos", description = "Cantidad total de registros y de registros del día, para el dashboard")
+    @ApiResponse(responseCode = "200", description = "Totales calculados")
+    @GetMapping("/stats")
+    public ResponseEntity<AccessStatsDTO> getAccessStats() {
+        return ResponseEntity.ok(accessControlService.getAccessStats());
+    }
+
+    @Operation(summary = "Exportar accesos", description = "Descarga en streaming todos los registros (o los del rango de fechas) en NDJSON o CSV")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso"),
+        @ApiResponse(responseCode = "400", description = "Formato no soportado")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAccessRecords(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
         
-        if (employeeId != null && startDate != null && endDate != null) {
-            records = accessControlService.getAccessHistoryByEmployeeAndDate(employeeId, startDate, endDate);
-        } else if (employeeCode != null && startDate != null && endDate != null) {
-            records = accessControlService.getAccessHistoryByEmployeeCodeAndDate(employeeCode, startDate, endDate);
-        } else if (employeeId != null) {
-            records = accessControlService.getAccessHistoryByEmployee(employeeId);
-        } else if (employeeCode != null) {
-            records = accessControlService.getAccessHistoryByEmployeeCode(employeeCode);
-        } else if (startDate != null && endDate != null) {
-            records = accessControlService.getAccessHistoryByDateRange(startDate, endDate);
-        } else {
-            records = accessControlService.getAllAccessHistory();
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Formato de exportación no soportado: " + format);
         }
         
-        return ResponseEntity.ok(records);
+        StreamingResponseBody body = csv
+                ? out -> exportWriter.writeCsv(out, startDate, endDate)
+                : out -> exportWriter.writeNdjson(out, startDate, endDate);
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv;charset=UTF-8") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=access-records." + (csv ? "csv" : "ndjson"))
+                .body(body);
     }
 
     @GetMapping("/{id}")
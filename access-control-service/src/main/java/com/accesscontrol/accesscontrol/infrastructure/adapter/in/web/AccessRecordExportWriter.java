@@ -0,0 +1,122 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.in.web;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordExportPort;
+import com.accesscontrol.accesscontrol.dto.AccessRecordDTO;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.in.web.mapper.AccessRecordWebMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Exportación de registros de acceso en NDJSON o CSV
+ * Arquitectura Hexagonal: Infrastructure Layer - Adaptador de entrada
+ *
+ * Escribe cada registro en la respuesta a medida que se lee de la base de datos; el único
+ * buffer es el del writer, así que el heap no depende del tamaño de la exportación.
+ */
+@Component
+public class AccessRecordExportWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessRecordExportWriter.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "id,employeeID,employeeCode,accessType,accessTimestamp,location,deviceId,status,notes";
+    // Ancho fijo: LocalDateTime.toString() omite los segundos cuando son :00
+    private static final DateTimeFormatter CSV_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final AccessRecordExportPort accessRecordExportPort;
+    private final AccessRecordWebMapper mapper;
+    private final ObjectWriter jsonWriter;
+
+    public AccessRecordExportWriter(AccessRecordExportPort accessRecordExportPort,
+                                    AccessRecordWebMapper mapper,
+                                    ObjectMapper objectMapper) {
+        this.accessRecordExportPort = accessRecordExportPort;
+        this.mapper = mapper;
+        this.jsonWriter = objectMapper.writerFor(AccessRecordDTO.class);
+    }
+
+    public long writeNdjson(OutputStream out, LocalDateTime start, LocalDateTime end) throws IOException {
+        return write(out, null, start, end, (writer, dto) -> {
+            writer.write(jsonWriter.writeValueAsString(dto));
+            writer.write('\n');
+        });
+    }
+
+    public long writeCsv(OutputStream out, LocalDateTime start, LocalDateTime end) throws IOException {
+        return write(out, CSV_HEADER, start, end, (writer, dto) -> {
+            writer.write(String.valueOf(dto.getId()));
+            writer.write(',');
+            writer.write(csv(dto.getEmployeeID()));
+            writer.write(',');
+            writer.write(csv(dto.getEmployeeCode()));
+            writer.write(',');
+            writer.write(csv(dto.getAccessType()));
+            writer.write(',');
+            writer.write(dto.getAccessTimestamp() != null ? CSV_TIMESTAMP.format(dto.getAccessTimestamp()) : "");
+            writer.write(',');
+            writer.write(csv(dto.getLocation()));
+            writer.write(',');
+            writer.write(csv(dto.getDeviceId()));
+            writer.write(',');
+            writer.write(csv(dto.getStatus()));
+            writer.write(',');
+            writer.write(csv(dto.getNotes()));
+            writer.write('\n');
+        });
+    }
+
+    private long write(OutputStream out, String header, LocalDateTime start, LocalDateTime end,
+                       RowWriter rowWriter) throws IOException {
+        long startTime = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (header != null) {
+            writer.write(header);
+            writer.write('\n');
+        }
+        long count;
+        try {
+            count = accessRecordExportPort.forEachRecord(start, end, (AccessRecord record) -> {
+                try {
+                    rowWriter.write(writer, mapper.toDTO(record));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // El cliente cortó la descarga: se cierra el stream y se libera la conexión
+            throw e.getCause();
+        }
+        writer.flush();
+        logger.info("Exportación de accesos: {} registros en {} ms", count, System.currentTimeMillis() - startTime);
+        return count;
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Writer writer, AccessRecordDTO dto) throws IOException;
+    }
+}
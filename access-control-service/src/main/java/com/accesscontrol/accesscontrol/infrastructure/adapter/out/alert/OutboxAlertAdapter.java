@@ -0,0 +1,31 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.alert;
+
+import com.accesscontrol.accesscontrol.domain.port.out.AlertServicePort;
+import com.accesscontrol.accesscontrol.dto.AlertEvent;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.outbox.OutboxWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Adaptador de alertas - Outbox transaccional
+ * Arquitectura Hexagonal: Infrastructure Layer
+ *
+ * La alerta se guarda en outbox_event dentro de la transacción del check-in y la publica
+ * en RabbitMQ el relay del outbox; el hilo del check-in no habla con el broker.
+ */
+@Component
+public class OutboxAlertAdapter implements AlertServicePort {
+    
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Override
+    public void sendAlert(String code, String description, String employeeIdentifier) {
+        AlertEvent alertEvent = new AlertEvent(code, description, employeeIdentifier);
+        alertEvent.setTimestamp(LocalDateTime.now().toString());
+        
+        outboxWriter.appendAlert(alertEvent);
+    }
+}
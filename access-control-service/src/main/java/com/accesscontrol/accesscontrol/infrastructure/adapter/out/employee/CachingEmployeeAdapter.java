@@ -0,0 +1,164 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.employee;
+
+import com.accesscontrol.accesscontrol.domain.port.out.EmployeeServicePort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador de Employee Service con caché de lectura
+ * Arquitectura Hexagonal: Infrastructure Layer
+ *
+ * Decora {@link RestEmployeeAdapter} con dos cachés acotadas (por documento y por código).
+ * Los empleados inexistentes (404) se cachean con un TTL más corto; los errores de red o
+ * 5xx no se cachean para que el siguiente intento vuelva a consultar el servicio.
+ *
+ * Es también el fallback de {@link EmployeeServiceGuard}: si el servicio está degradado se
+ * responde con lo que haya en caché y, si no hay nada, sin datos (el acceso se registra sin
+ * employeeCode y lo completa después el backfill).
+ */
+@Component
+@Primary
+public class CachingEmployeeAdapter implements EmployeeServicePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingEmployeeAdapter.class);
+
+    private final RestEmployeeAdapter delegate;
+    private final Cache<String, Optional<Map<String, Object>>> byDocument;
+    private final Cache<String, Optional<Map<String, Object>>> byCode;
+
+    public CachingEmployeeAdapter(RestEmployeeAdapter delegate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${employee.cache.max-size:10000}") long maxSize,
+                                  @Value("${employee.cache.ttl:10m}") Duration ttl,
+                                  @Value("${employee.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.delegate = delegate;
+        this.byDocument = buildCache(maxSize, ttl, negativeTtl);
+        this.byCode = buildCache(maxSize, ttl, negativeTtl);
+        CaffeineCacheMetrics.monitor(meterRegistry, byDocument, "employeeByDocument");
+        CaffeineCacheMetrics.monitor(meterRegistry, byCode, "employeeByCode");
+    }
+
+    @Override
+    public Map<String, Object> getEmployeeByDocument(String document) {
+        Map<String, Object> employee = lookup(byDocument, document, delegate::fetchByDocument);
+        if (employee != null && employee.get("employeeCode") instanceof String code) {
+            byCode.put(code, Optional.of(employee));
+        }
+        return employee;
+    }
+
+    @Override
+    public Map<String, Object> getEmployeeByCode(String employeeCode) {
+        Map<String, Object> employee = lookup(byCode, employeeCode, delegate::fetchByCode);
+        if (employee != null && employee.get("document") instanceof String document) {
+            byDocument.put(document, Optional.of(employee));
+        }
+        return employee;
+    }
+
+    /**
+     * Sólo los documentos que no están en caché viajan a employee-service, en una
+     * única llamada masiva. Los ausentes en la respuesta se cachean como negativos.
+     */
+    @Override
+    public Map<String, Map<String, Object>> getEmployeesByDocuments(Collection<String> documents) {
+        if (documents == null || documents.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<String> keys = documents.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, Optional<Map<String, Object>>> loaded;
+        try {
+            loaded = byDocument.getAll(keys, missing -> {
+                Map<String, Map<String, Object>> found = delegate.fetchByDocuments(missing);
+                Map<String, Optional<Map<String, Object>>> entries = new HashMap<>();
+                for (String document : missing) {
+                    entries.put(document, Optional.ofNullable(found.get(document)).map(Collections::unmodifiableMap));
+                }
+                return entries;
+            });
+        } catch (RuntimeException e) {
+            logFailure("en bloque (" + keys.size() + " documentos)", e);
+            loaded = byDocument.getAllPresent(keys);
+        }
+        
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        loaded.forEach((document, employee) -> employee.ifPresent(found -> {
+            result.put(document, found);
+            if (found.get("employeeCode") instanceof String code) {
+                byCode.put(code, employee);
+            }
+        }));
+        return result;
+    }
+
+    private Map<String, Object> lookup(Cache<String, Optional<Map<String, Object>>> cache,
+                                       String key,
+                                       Function<String, Optional<Map<String, Object>>> loader) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            return cache.get(key, k -> loader.apply(k).map(Collections::unmodifiableMap)).orElse(null);
+        } catch (RuntimeException e) {
+            logFailure("para " + key, e);
+            return null;
+        }
+    }
+
+    // Con el circuito abierto cada acceso falla rápido: no se registra un warning por cada uno
+    private static void logFailure(String what, RuntimeException e) {
+        if (EmployeeServiceGuard.isRejection(e)) {
+            logger.debug("employee-service degradado, consulta {} omitida: {}", what, e.getMessage());
+        } else {
+            logger.warn("No se pudo consultar employee-service {}: {}", what, e.getMessage());
+        }
+    }
+
+    private static Cache<String, Optional<Map<String, Object>>> buildCache(long maxSize, Duration ttl, Duration negativeTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<Map<String, Object>>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<Map<String, Object>> value, long currentTime) {
+                        return value.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<Map<String, Object>> value,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<Map<String, Object>> value,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+}
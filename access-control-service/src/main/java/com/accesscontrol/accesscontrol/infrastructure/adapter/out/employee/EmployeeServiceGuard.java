@@ -0,0 +1,103 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.employee;
+
+import com.accesscontrol.accesscontrol.config.MetricsConfig;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker y bulkhead de las llamadas a employee-service
+ * Arquitectura Hexagonal: Infrastructure Layer
+ *
+ * El bulkhead limita cuántas llamadas pueden estar esperando a employee-service a la vez y
+ * rechaza de inmediato las que sobran. El circuit breaker se abre cuando fallan o tardan
+ * demasiadas llamadas recientes; mientras está abierto las llamadas fallan sin tocar la red.
+ * En ambos casos {@link CachingEmployeeAdapter} responde con lo que tenga en caché o sin
+ * enriquecer, así que los registros de acceso no esperan al directorio de empleados.
+ */
+@Component
+public class EmployeeServiceGuard {
+
+    static final String NAME = "employee-service";
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeServiceGuard.class);
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public EmployeeServiceGuard(MeterRegistry meterRegistry,
+                                @Value("${employee.resilience.failure-rate-threshold:50}") float failureRateThreshold,
+                                @Value("${employee.resilience.slow-call-threshold:1s}") Duration slowCallThreshold,
+                                @Value("${employee.resilience.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+                                @Value("${employee.resilience.sliding-window-size:20}") int slidingWindowSize,
+                                @Value("${employee.resilience.minimum-calls:10}") int minimumCalls,
+                                @Value("${employee.resilience.open-wait:30s}") Duration openWait,
+                                @Value("${employee.resilience.half-open-calls:3}") int halfOpenCalls,
+                                @Value("${employee.resilience.max-concurrent-calls:10}") int maxConcurrentCalls) {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(openWait)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                // Un 4xx es una respuesta válida del directorio, no un síntoma de degradación
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.circuitBreaker = circuitBreakers.circuitBreaker(NAME);
+        this.bulkhead = bulkheads.bulkhead(NAME);
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            MetricsConfig.getEmployeeServiceCircuitTransitionsCounter(meterRegistry,
+                    transition.getFromState().name(), transition.getToState().name()).increment();
+            logger.warn("Circuit breaker de employee-service: {} -> {}",
+                    transition.getFromState(), transition.getToState());
+        });
+    }
+
+    /**
+     * Ejecuta la llamada dentro del bulkhead y del circuit breaker. Lanza
+     * {@link BulkheadFullException} o {@link CallNotPermittedException} sin llamar al servicio
+     * cuando no hay cupo o el circuito está abierto.
+     */
+    public <T> T call(Supplier<T> remoteCall) {
+        // El bulkhead va por fuera: un rechazo por saturación no cuenta como fallo del servicio
+        return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, remoteCall)).get();
+    }
+
+    /**
+     * Verdadero si la excepción es un rechazo rápido del guard y no un fallo de red
+     */
+    public static boolean isRejection(Throwable e) {
+        return e instanceof CallNotPermittedException || e instanceof BulkheadFullException;
+    }
+
+    CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+}
@@ -2,11 +2,21 @@ package com.accesscontrol.accesscontrol.infrastructure.adapter.out.employee;
 
 import com.accesscontrol.accesscontrol.domain.port.out.EmployeeServicePort;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Adaptador de Employee Service - REST
@@ -14,44 +24,89 @@ import java.util.Map;
  */
 @Component
 public class RestEmployeeAdapter implements EmployeeServicePort {
-    
+
     private final RestTemplate restTemplate;
-    
+    private final EmployeeServiceGuard guard;
+
     @Value("${employee.service.url:http://localhost:8082}")
     private String employeeServiceUrl;
-    
-    public RestEmployeeAdapter(RestTemplate restTemplate) {
+
+    public RestEmployeeAdapter(RestTemplate restTemplate, EmployeeServiceGuard guard) {
         this.restTemplate = restTemplate;
+        this.guard = guard;
     }
-    
+
     @Override
     public Map<String, Object> getEmployeeByDocument(String document) {
         try {
-            ResponseEntity<Map> response = restTemplate.getForEntity(
-                employeeServiceUrl + "/employee/document/" + document,
-                Map.class
-            );
-            return response.getBody();
+            return fetchByDocument(document).orElse(null);
         } catch (Exception e) {
             return null;
         }
     }
-    
+
     @Override
     public Map<String, Object> getEmployeeByCode(String employeeCode) {
         try {
-            ResponseEntity<Map> response = restTemplate.getForEntity(
-                employeeServiceUrl + "/employee/code/" + employeeCode,
-                Map.class
-            );
-            return response.getBody();
+            return fetchByCode(employeeCode).orElse(null);
         } catch (Exception e) {
             return null;
         }
     }
-}
 
+    @Override
+    public Map<String, Map<String, Object>> getEmployeesByDocuments(Collection<String> documents) {
+        try {
+            return fetchByDocuments(documents);
+        } catch (Exception e) {
+            return Collections.emptyMap();
+        }
+    }
 
+    /**
+     * Vacío si employee-service responde que el empleado no existe (404, o 500 "not found"
+     * en versiones anteriores); cualquier otro fallo (red, 5xx, circuito abierto) se
+     * propaga para que no se confunda con un empleado inexistente.
+     */
+    public Optional<Map<String, Object>> fetchByDocument(String document) {
+        return fetch(employeeServiceUrl + "/employee/document/" + document);
+    }
 
+    public Optional<Map<String, Object>> fetchByCode(String employeeCode) {
+        return fetch(employeeServiceUrl + "/employee/code/" + employeeCode);
+    }
 
+    /**
+     * POST /employee/batch/document: los documentos ausentes en la respuesta no existen.
+     */
+    public Map<String, Map<String, Object>> fetchByDocuments(Collection<? extends String> documents) {
+        if (documents == null || documents.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        ResponseEntity<Map<String, Map<String, Object>>> response = guard.call(() -> restTemplate.exchange(
+                employeeServiceUrl + "/employee/batch/document",
+                HttpMethod.POST,
+                new HttpEntity<>(new ArrayList<>(documents)),
+                new ParameterizedTypeReference<Map<String, Map<String, Object>>>() {}));
+        return response.getBody() != null ? response.getBody() : Collections.emptyMap();
+    }
 
+    @SuppressWarnings("unchecked")
+    private Optional<Map<String, Object>> fetch(String url) {
+        return guard.call(() -> {
+            try {
+                ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+                return Optional.ofNullable((Map<String, Object>) response.getBody());
+            } catch (HttpClientErrorException.NotFound e) {
+                return Optional.empty();
+            } catch (HttpServerErrorException e) {
+                // Las versiones de employee-service anteriores al 404 responden 500 "Employee not found":
+                // es una respuesta válida y no debe contar como fallo del circuit breaker
+                if (e.getResponseBodyAsString().toLowerCase(Locale.ROOT).contains("not found")) {
+                    return Optional.empty();
+                }
+                throw e;
+            }
+        });
+    }
+}
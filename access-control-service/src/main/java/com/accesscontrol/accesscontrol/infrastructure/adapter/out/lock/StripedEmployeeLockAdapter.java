@@ -0,0 +1,107 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.lock;
+
+import com.accesscontrol.accesscontrol.domain.port.out.EmployeeLockPort;
+import com.accesscontrol.accesscontrol.exception.AccessValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Adaptador de exclusión - Locks en franjas (striped) en memoria
+ * Arquitectura Hexagonal: Infrastructure Layer
+ *
+ * Un arreglo fijo de ReentrantLock indexado por el hash del documento: dos marcas del mismo
+ * empleado siempre caen en la misma franja y se ejecutan de a una, mientras que empleados
+ * distintos sólo compiten si coinciden de franja. La memoria no crece con la cantidad de
+ * empleados. Protege a una instancia del servicio; con varias réplicas cada torniquete
+ * debe enrutarse siempre a la misma.
+ */
+@Component
+public class StripedEmployeeLockAdapter implements EmployeeLockPort {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long waitTimeoutMillis;
+
+    public StripedEmployeeLockAdapter(@Value("${access.lock.stripes:1024}") int stripes,
+                                      @Value("${access.lock.wait-timeout:5s}") Duration waitTimeout) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+    }
+
+    @Override
+    public <T> T callWithLock(String employeeID, Supplier<T> action) {
+        return callWithLocks(employeeID == null ? List.of() : List.of(employeeID), action);
+    }
+
+    @Override
+    public <T> T callWithLocks(Collection<String> employeeIDs, Supplier<T> action) {
+        // Dentro de una transacción ajena el bloqueo se soltaría antes de su commit
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("El bloqueo por empleado se toma antes de abrir la transacción");
+        }
+        // Orden ascendente de franja: ningún par de transacciones puede esperarse en ciclo
+        int[] indexes = employeeIDs.stream()
+                .filter(Objects::nonNull)
+                .filter(employeeID -> !employeeID.isBlank())
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        List<ReentrantLock> acquired = new ArrayList<>(indexes.length);
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(waitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw busy();
+                }
+                acquired.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(acquired);
+            throw busy();
+        } catch (RuntimeException e) {
+            release(acquired);
+            throw e;
+        }
+
+        try {
+            return action.get();
+        } finally {
+            release(acquired);
+        }
+    }
+
+    private int stripeIndex(String employeeID) {
+        int hash = employeeID.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static void release(List<ReentrantLock> acquired) {
+        for (int i = acquired.size() - 1; i >= 0; i--) {
+            acquired.get(i).unlock();
+        }
+    }
+
+    private static AccessValidationException busy() {
+        return new AccessValidationException(
+                "Hay otro registro del mismo empleado en curso; reintente el acceso",
+                "CONCURRENT_ACCESS");
+    }
+}
@@ -0,0 +1,174 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.outbox;
+
+import com.accesscontrol.accesscontrol.dto.AlertEvent;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.OutboxEventJpaRepository;
+import com.accesscontrol.accesscontrol.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.accesscontrol.accesscontrol.config.MetricsConfig.getAlertsSentCounter;
+import static com.accesscontrol.accesscontrol.config.MetricsConfig.getOutboxEventsPublishedCounter;
+import static com.accesscontrol.accesscontrol.config.MetricsConfig.getOutboxPublishFailuresCounter;
+import static com.accesscontrol.accesscontrol.config.MetricsConfig.getOutboxPublishTimer;
+
+/**
+ * Relay de la tabla outbox_event hacia RabbitMQ
+ * Arquitectura Hexagonal: Infrastructure Layer
+ *
+ * Toma lotes en orden de id (SKIP LOCKED), los publica por un mismo canal, espera una sola
+ * confirmación del broker por lote y recién entonces borra las filas en la misma transacción.
+ * Si el broker no confirma, la transacción hace rollback y el lote se reintenta en el próximo
+ * ciclo: la entrega es al menos una vez y cada mensaje lleva messageId "outbox-{id}" para
+ * que el consumidor descarte duplicados.
+ *
+ * Sólo se publican alertas; filas de otros tipos que hayan quedado de versiones anteriores se
+ * borran sin publicar. Si el ciclo termina con un lote incompleto la tabla quedó vacía y la
+ * profundidad es 0 sin consultar nada; sólo cuando queda trabajo pendiente (lote completo al
+ * agotar maxBatchesPerRun o fallo del broker) se cuenta la tabla.
+ */
+@Component
+@ConditionalOnProperty(name = "access.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final OutboxEventJpaRepository repository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer publishTimer;
+    private final AtomicLong depth = new AtomicLong();
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration confirmTimeout;
+
+    public OutboxRelay(OutboxEventJpaRepository repository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${access.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${access.outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun,
+                       @Value("${access.outbox.relay.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.repository = repository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.publishTimer = getOutboxPublishTimer(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.confirmTimeout = confirmTimeout;
+
+        Gauge.builder("access_outbox_depth", depth, AtomicLong::get)
+                .description("Outbox events pending at the end of the last relay run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${access.outbox.relay.initial-delay:5000}",
+               fixedDelayString = "${access.outbox.relay.fixed-delay:500}")
+    public void relay() {
+        boolean drained = false;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer published;
+            try {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } catch (RuntimeException e) {
+                getOutboxPublishFailuresCounter(meterRegistry).increment();
+                logger.warn("No se pudo publicar el lote del outbox; se reintenta en el próximo ciclo: {}", e.getMessage());
+                break;
+            }
+            if (published == null || published < batchSize) {
+                // Lote incompleto: la tabla quedó vacía al momento del sondeo
+                drained = true;
+                break;
+            }
+        }
+        depth.set(drained ? 0 : countPending());
+    }
+
+    private long countPending() {
+        try {
+            return repository.count();
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo contar el outbox pendiente: {}", e.getMessage());
+            return depth.get();
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> events = repository.findBatchForPublish(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> alerts = events.stream()
+                .filter(event -> OutboxWriter.EVENT_ALERT.equals(event.getEventType()))
+                .collect(Collectors.toList());
+        if (alerts.size() < events.size()) {
+            logger.warn("Se descartan {} eventos del outbox sin consumidor", events.size() - alerts.size());
+        }
+
+        if (!alerts.isEmpty()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                rabbitTemplate.invoke(operations -> {
+                    for (OutboxEvent event : alerts) {
+                        operations.send(event.getExchangeName(), event.getRoutingKey(), toMessage(event));
+                    }
+                    operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+                    return null;
+                });
+            } finally {
+                sample.stop(publishTimer);
+            }
+        }
+
+        repository.deleteByIdIn(events.stream().map(OutboxEvent::getId).collect(Collectors.toList()));
+        for (OutboxEvent event : alerts) {
+            getOutboxEventsPublishedCounter(meterRegistry, event.getEventType()).increment();
+            getAlertsSentCounter(meterRegistry, alertCode(event)).increment();
+        }
+        return events.size();
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setMessageId("outbox-" + event.getId());
+        properties.setTimestamp(Timestamp.valueOf(event.getCreatedAt()));
+        properties.setType(event.getEventType());
+        properties.setHeader("__TypeId__", AlertEvent.TYPE_ID);
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    private String alertCode(OutboxEvent event) {
+        try {
+            return objectMapper.readTree(event.getPayload()).path("code").asText("UNKNOWN");
+        } catch (Exception e) {
+            return "UNKNOWN";
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.outbox;
+
+import com.accesscontrol.accesscontrol.config.RabbitMQConfig;
+import com.accesscontrol.accesscontrol.dto.AlertEvent;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.OutboxEventJpaRepository;
+import com.accesscontrol.accesscontrol.model.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Escritura en la tabla outbox_event
+ * Arquitectura Hexagonal: Infrastructure Layer
+ *
+ * Los eventos se insertan en la transacción del llamador: si el acceso hace rollback el evento
+ * desaparece con él, y si confirma el evento queda guardado aunque el broker no esté disponible.
+ * {@link OutboxRelay} los publica después. Sólo viajan por aquí las alertas: los accesos
+ * registrados no tienen consumidores y no se publican.
+ */
+@Component
+public class OutboxWriter {
+
+    public static final String EVENT_ALERT = "ALERT";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final OutboxEventJpaRepository repository;
+
+    public OutboxWriter(OutboxEventJpaRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Alerta para alert-service; se publica en alert.queue con el esquema {@link AlertEvent}
+     */
+    @Transactional
+    public void appendAlert(AlertEvent alert) {
+        repository.save(event(EVENT_ALERT, "", RabbitMQConfig.ALERT_QUEUE, alert));
+    }
+
+    private OutboxEvent event(String eventType, String exchange, String routingKey, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setExchangeName(exchange);
+        event.setRoutingKey(routingKey);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Evento " + eventType + " no serializable: " + e.getMessage(), e);
+        }
+        return event;
+    }
+}
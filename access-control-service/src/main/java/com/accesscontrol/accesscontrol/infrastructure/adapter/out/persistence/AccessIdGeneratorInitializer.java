@@ -0,0 +1,58 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import static com.accesscontrol.accesscontrol.model.AccessRecord.ID_ALLOCATION_SIZE;
+import static com.accesscontrol.accesscontrol.model.AccessRecord.ID_GENERATOR_NAME;
+import static com.accesscontrol.accesscontrol.model.AccessRecord.ID_GENERATOR_TABLE;
+
+/**
+ * Alinea el generador de ids de access con los ids que ya existen
+ * Arquitectura Hexagonal: Infrastructure Layer
+ *
+ * Las bases creadas con IDENTITY tienen filas con ids AUTO_INCREMENT y el generador por tabla
+ * arranca en cero. Antes de aceptar tráfico se adelanta next_val para que el primer bloque
+ * reservado quede por encima de MAX(id). Sólo mueve el valor hacia adelante, así que es seguro
+ * con otras instancias ya en marcha.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class AccessIdGeneratorInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessIdGeneratorInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccessIdGeneratorInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignWithExistingIds() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM access", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // El optimizador pooled entrega el bloque que termina en next_val: el bloque completo debe superar MAX(id)
+        long required = maxId + ID_ALLOCATION_SIZE + 1;
+        // Insertar primero y, si la fila ya existe, sólo adelantarla: con varias instancias arrancando
+        // a la vez una inserta y las demás reciben la clave duplicada, sin ventana entre consultar e insertar
+        int updated;
+        try {
+            updated = jdbcTemplate.update("INSERT INTO " + ID_GENERATOR_TABLE
+                    + " (sequence_name, next_val) VALUES (?, ?)", ID_GENERATOR_NAME, required);
+        } catch (DuplicateKeyException e) {
+            updated = jdbcTemplate.update("UPDATE " + ID_GENERATOR_TABLE
+                    + " SET next_val = ? WHERE sequence_name = ? AND next_val < ?", required, ID_GENERATOR_NAME, required);
+        }
+        if (updated > 0) {
+            logger.info("Generador de ids de access adelantado a {} (MAX(id) = {})", required, maxId);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence;
+
+import com.accesscontrol.accesscontrol.config.ExportDataSourceConfig;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordExportPort;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Adaptador de lectura en streaming - Cursor del servidor sobre el pool de exportación
+ * Arquitectura Hexagonal: Infrastructure Layer
+ *
+ * Usa JDBC directo en vez de JPA: no hay contexto de persistencia que vaciar y cada fila se
+ * convierte y se entrega sin quedar referenciada. Con useCursorFetch en la URL del pool de
+ * exportación el driver trae las filas de a FETCH_SIZE; en el pool principal Connector/J
+ * entregaría el resultado completo de una vez.
+ */
+@Component
+public class AccessRecordExportAdapter implements AccessRecordExportPort {
+
+    static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT = "SELECT id, employeeid, accessdatetime, employee_code, access_type, "
+            + "access_timestamp, location, device_id, status, notes FROM access";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccessRecordExportAdapter(@Qualifier(ExportDataSourceConfig.EXPORT_DATA_SOURCE) DataSource exportDataSource) {
+        this.jdbcTemplate = new JdbcTemplate(exportDataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public long forEachRecord(LocalDateTime start, LocalDateTime end, Consumer<AccessRecord> consumer) {
+        long[] count = {0};
+        RowCallbackHandler handler = rs -> {
+            consumer.accept(toDomain(rs));
+            count[0]++;
+        };
+        if (start != null && end != null) {
+            jdbcTemplate.query(SELECT + " WHERE access_timestamp BETWEEN ? AND ? ORDER BY access_timestamp, id",
+                    handler, Timestamp.valueOf(start), Timestamp.valueOf(end));
+        } else {
+            jdbcTemplate.query(SELECT + " ORDER BY id", handler);
+        }
+        return count[0];
+    }
+
+    @Override
+    public long forEachByEmployeeIDAndDateRange(String employeeID, LocalDateTime start, LocalDateTime end,
+                                                Consumer<AccessRecord> consumer) {
+        return forEachByEmployee("employeeid", employeeID, start, end, consumer);
+    }
+
+    @Override
+    public long forEachByEmployeeCodeAndDateRange(String employeeCode, LocalDateTime start, LocalDateTime end,
+                                                  Consumer<AccessRecord> consumer) {
+        return forEachByEmployee("employee_code", employeeCode, start, end, consumer);
+    }
+
+    // Recorre idx_access_employeeid_ts / idx_access_employee_code_ts en orden
+    private long forEachByEmployee(String column, String value, LocalDateTime start, LocalDateTime end,
+                                   Consumer<AccessRecord> consumer) {
+        long[] count = {0};
+        jdbcTemplate.query(SELECT + " WHERE " + column + " = ? AND access_timestamp BETWEEN ? AND ? "
+                        + "ORDER BY access_timestamp, id",
+                rs -> {
+                    consumer.accept(toDomain(rs));
+                    count[0]++;
+                },
+                value, Timestamp.valueOf(start), Timestamp.valueOf(end));
+        return count[0];
+    }
+
+    private static AccessRecord toDomain(ResultSet rs) throws SQLException {
+        AccessRecord record = new AccessRecord();
+        record.setId(rs.getLong("id"));
+        record.setEmployeeID(rs.getString("employeeid"));
+        record.setAccessdatetime(rs.getString("accessdatetime"));
+        record.setEmployeeCode(rs.getString("employee_code"));
+        String accessType = rs.getString("access_type");
+        record.setAccessType(accessType != null ? AccessRecord.AccessType.valueOf(accessType) : null);
+        Timestamp accessTimestamp = rs.getTimestamp("access_timestamp");
+        record.setAccessTimestamp(accessTimestamp != null ? accessTimestamp.toLocalDateTime() : null);
+        record.setLocation(rs.getString("location"));
+        record.setDeviceId(rs.getString("device_id"));
+        String status = rs.getString("status");
+        record.setStatus(status != null ? AccessRecord.AccessStatus.valueOf(status) : null);
+        record.setNotes(rs.getString("notes"));
+        return record;
+    }
+}
@@ -1,13 +1,25 @@
 package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence;
 
+import com.accesscontrol.accesscontrol.domain.model.AccessCursor;
 import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
 import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
+import com.accesscontrol.accesscontrol.domain.port.out.DailyAttendancePort;
+import com.accesscontrol.accesscontrol.domain.port.out.PresenceStatePort;
 import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
 import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.AccessRecordJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -24,12 +36,86 @@ public class AccessRecordRepositoryAdapter implements AccessRecordRepositoryPort
     
     @Autowired
     private AccessRecordMapper mapper;
+    
+    @Autowired
+    private PresenceStatePort presenceStatePort;
+    
+    @Autowired
+    private DailyAttendancePort dailyAttendancePort;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int jdbcBatchSize;
 
     @Override
     public AccessRecord save(AccessRecord accessRecord) {
+        boolean isNew = accessRecord.getId() == null;
         var jpaEntity = mapper.toJpaEntity(accessRecord);
-        var saved = jpaRepository.save(jpaEntity);
-        return mapper.toDomainEntity(saved);
+        var saved = mapper.toDomainEntity(jpaRepository.save(jpaEntity));
+        if (isNew) {
+            // Misma transacción: la asistencia diaria nunca queda desfasada respecto de access
+            dailyAttendancePort.apply(saved);
+        }
+        updatePresenceAfterCommit(saved);
+        return saved;
+    }
+    
+    /**
+     * Con ids reservados por bloques Hibernate agrupa los INSERT en lotes de jdbc.batch_size
+     * (y con rewriteBatchedStatements el driver de MySQL envía cada lote como un INSERT
+     * multi-fila). Cada lote se escribe y se separa del contexto de persistencia para que el
+     * heap no crezca con el tamaño del reenvío.
+     */
+    @Override
+    @Transactional
+    public List<AccessRecord> saveAll(List<AccessRecord> accessRecords) {
+        List<AccessRecord> saved = new ArrayList<>(accessRecords.size());
+        List<com.accesscontrol.accesscontrol.model.AccessRecord> pending = new ArrayList<>(Math.min(jdbcBatchSize, accessRecords.size()));
+        for (AccessRecord accessRecord : accessRecords) {
+            var entity = mapper.toJpaEntity(accessRecord);
+            entityManager.persist(entity);
+            pending.add(entity);
+            if (pending.size() == jdbcBatchSize) {
+                flushBatch(pending, saved);
+            }
+        }
+        flushBatch(pending, saved);
+
+        dailyAttendancePort.applyAll(saved);
+        saved.forEach(this::updatePresenceAfterCommit);
+        return saved;
+    }
+
+    private void flushBatch(List<com.accesscontrol.accesscontrol.model.AccessRecord> pending, List<AccessRecord> saved) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        for (var entity : pending) {
+            saved.add(mapper.toDomainEntity(entity));
+            entityManager.detach(entity);
+        }
+        pending.clear();
+    }
+    
+    /**
+     * El índice de presencia sólo refleja registros confirmados: si la transacción
+     * hace rollback el estado anterior se conserva.
+     */
+    private void updatePresenceAfterCommit(AccessRecord saved) {
+        PresenceState state = PresenceState.from(saved);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    presenceStatePort.update(state);
+                }
+            });
+        } else {
+            presenceStatePort.update(state);
+        }
     }
 
     @Override
@@ -39,79 +125,79 @@ public class AccessRecordRepositoryAdapter implements AccessRecordRepositoryPort
     }
 
     @Override
-    public List<AccessRecord> findByEmployeeID(String employeeID) {
-        return jpaRepository.findByEmployeeID(employeeID).stream()
-                .map(mapper::toDomainEntity)
-                .collect(Collectors.toList());
+    public long count() {
+        return jpaRepository.count();
     }
 
     @Override
-    public List<AccessRecord> findByEmployeeCode(String employeeCode) {
-        return jpaRepository.findByEmployeeCode(employeeCode).stream()
-                .map(mapper::toDomainEntity)
-                .collect(Collectors.toList());
+    public long countSince(LocalDateTime since) {
+        return jpaRepository.countByAccessTimestampGreaterThanEqual(since);
     }
 
     @Override
-    public List<AccessRecord> findByAccessTimestampBetween(LocalDateTime start, LocalDateTime end) {
-        return jpaRepository.findByAccessTimestampBetween(start, end).stream()
-                .map(mapper::toDomainEntity)
-                .collect(Collectors.toList());
+    public Optional<PresenceState> findLatestStateByEmployeeID(String employeeID) {
+        return jpaRepository.findFirstByEmployeeIDOrderByAccessTimestampDescIdDesc(employeeID)
+                .map(mapper::toPresenceState);
     }
 
     @Override
-    public List<AccessRecord> findByEmployeeIDAndDateRange(String employeeID, LocalDateTime start, LocalDateTime end) {
-        return jpaRepository.findByEmployeeIDAndDateRange(employeeID, start, end).stream()
-                .map(mapper::toDomainEntity)
-                .collect(Collectors.toList());
+    public Optional<PresenceState> findLatestStateByEmployeeCode(String employeeCode) {
+        return jpaRepository.findFirstByEmployeeCodeOrderByAccessTimestampDescIdDesc(employeeCode)
+                .map(mapper::toPresenceState);
     }
 
     @Override
-    public List<AccessRecord> findByEmployeeCodeAndDateRange(String employeeCode, LocalDateTime start, LocalDateTime end) {
-        return jpaRepository.findByEmployeeCodeAndDateRange(employeeCode, start, end).stream()
+    public List<AccessRecord> findMissingEmployeeCodeAfter(Long afterId, int limit) {
+        return jpaRepository.findMissingEmployeeCodeAfter(afterId, PageRequest.of(0, limit)).stream()
                 .map(mapper::toDomainEntity)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<AccessRecord> findLatestByEmployeeID(String employeeID) {
-        return jpaRepository.findLatestByEmployeeID(employeeID).stream()
-                .map(mapper::toDomainEntity)
-                .collect(Collectors.toList());
+    public int assignEmployeeCode(String employeeID, String employeeCode) {
+        return jpaRepository.assignEmployeeCode(employeeID, employeeCode);
     }
 
     @Override
-    public List<AccessRecord> findLatestByEmployeeCode(String employeeCode) {
-        return jpaRepository.findLatestByEmployeeCode(employeeCode).stream()
-                .map(mapper::toDomainEntity)
-                .collect(Collectors.toList());
+    public List<AccessRecord> findPageAfter(AccessCursor after, int limit) {
+        return toDomain(jpaRepository.findPageAfter(after.getAccessTimestamp(), after.getId(), PageRequest.of(0, limit)));
     }
 
     @Override
-    public List<AccessRecord> findAll() {
-        return jpaRepository.findAll().stream()
-                .map(mapper::toDomainEntity)
-                .collect(Collectors.toList());
+    public List<AccessRecord> findPageByEmployeeCodeAfter(String employeeCode, AccessCursor after, int limit) {
+        return toDomain(jpaRepository.findPageByEmployeeCodeAfter(employeeCode,
+                after.getAccessTimestamp(), after.getId(), PageRequest.of(0, limit)));
     }
 
     @Override
-    public List<AccessRecord> findByEmployeeId(Long employeeId) {
-        // Buscar todos y filtrar por employeeId (Long) ya que el repositorio JPA no tiene este método directo
-        return jpaRepository.findAll().stream()
-                .filter(entity -> entity.getEmployeeId() != null && entity.getEmployeeId().equals(employeeId))
-                .map(mapper::toDomainEntity)
-                .collect(Collectors.toList());
+    public List<AccessRecord> findPageByEmployeeIdAfter(Long employeeId, AccessCursor after, int limit) {
+        return toDomain(jpaRepository.findPageByEmployeeIdAfter(employeeId,
+                after.getAccessTimestamp(), after.getId(), PageRequest.of(0, limit)));
     }
 
     @Override
-    public List<AccessRecord> findByEmployeeIdAndDateRange(Long employeeId, LocalDateTime start, LocalDateTime end) {
-        // Filtrar por employeeId (Long) y rango de fechas
-        return jpaRepository.findByAccessTimestampBetween(start, end).stream()
-                .filter(entity -> entity.getEmployeeId() != null && entity.getEmployeeId().equals(employeeId))
-                .map(mapper::toDomainEntity)
-                .collect(Collectors.toList());
+    public List<AccessRecord> findPageByDateRangeAfter(LocalDateTime start, LocalDateTime end, AccessCursor after, int limit) {
+        return toDomain(jpaRepository.findPageByDateRangeAfter(start, end,
+                after.getAccessTimestamp(), after.getId(), PageRequest.of(0, limit)));
     }
-}
 
+    @Override
+    public List<AccessRecord> findPageByEmployeeCodeAndDateRangeAfter(String employeeCode, LocalDateTime start, LocalDateTime end,
+                                                                      AccessCursor after, int limit) {
+        return toDomain(jpaRepository.findPageByEmployeeCodeAndDateRangeAfter(employeeCode, start, end,
+                after.getAccessTimestamp(), after.getId(), PageRequest.of(0, limit)));
+    }
 
+    @Override
+    public List<AccessRecord> findPageByEmployeeIdAndDateRangeAfter(Long employeeId, LocalDateTime start, LocalDateTime end,
+                                                                    AccessCursor after, int limit) {
+        return toDomain(jpaRepository.findPageByEmployeeIdAndDateRangeAfter(employeeId, start, end,
+                after.getAccessTimestamp(), after.getId(), PageRequest.of(0, limit)));
+    }
 
+    private List<AccessRecord> toDomain(List<com.accesscontrol.accesscontrol.model.AccessRecord> entities) {
+        return entities.stream()
+                .map(mapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+}
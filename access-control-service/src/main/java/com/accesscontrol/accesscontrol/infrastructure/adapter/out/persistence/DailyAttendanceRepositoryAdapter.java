@@ -0,0 +1,217 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.DailyAttendance;
+import com.accesscontrol.accesscontrol.domain.port.out.DailyAttendancePort;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.AccessRecordJpaRepository;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.DailyAttendanceJpaRepository;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador de persistencia de la asistencia diaria
+ * Arquitectura Hexagonal: Infrastructure Layer - Adapta JPA a puerto de dominio
+ */
+@Component
+public class DailyAttendanceRepositoryAdapter implements DailyAttendancePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyAttendanceRepositoryAdapter.class);
+
+    private final DailyAttendanceJpaRepository jpaRepository;
+    private final AccessRecordJpaRepository accessRecordJpaRepository;
+    private final AccessRecordMapper accessRecordMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailyAttendanceRepositoryAdapter(DailyAttendanceJpaRepository jpaRepository,
+                                            AccessRecordJpaRepository accessRecordJpaRepository,
+                                            AccessRecordMapper accessRecordMapper,
+                                            JdbcTemplate jdbcTemplate) {
+        this.jpaRepository = jpaRepository;
+        this.accessRecordJpaRepository = accessRecordJpaRepository;
+        this.accessRecordMapper = accessRecordMapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void apply(AccessRecord accessRecord) {
+        applyAll(List.of(accessRecord));
+    }
+
+    /**
+     * Cada fila empleado/día se bloquea y se lee la primera vez que se necesita, se acumulan
+     * en memoria todos los accesos del lote y se escribe una vez al final.
+     */
+    @Override
+    @Transactional
+    public void applyAll(List<AccessRecord> accessRecords) {
+        Map<String, Optional<TrackedRow>> rows = new LinkedHashMap<>();
+        for (AccessRecord accessRecord : accessRecords) {
+            String employeeID = accessRecord.getEmployeeID();
+            LocalDateTime timestamp = accessRecord.getAccessTimestamp();
+            if (employeeID == null || timestamp == null || accessRecord.getAccessType() == null) {
+                continue;
+            }
+            LocalDate day = timestamp.toLocalDate();
+            TrackedRow tracked = loadOrCreate(rows, employeeID, day);
+            DailyAttendance attendance = tracked.attendance;
+            if (accessRecord.getEmployeeCode() != null && !accessRecord.getEmployeeCode().trim().isEmpty()) {
+                attendance.setEmployeeCode(accessRecord.getEmployeeCode());
+            }
+
+            if (accessRecord.getAccessType() == AccessRecord.AccessType.ENTRY) {
+                attendance.registerEntry(timestamp);
+            } else if (!attendance.registerExit(timestamp)) {
+                // Turno que cruzó la medianoche: el tiempo en sitio se acumula en el día del ingreso
+                load(rows, employeeID, day.minusDays(1))
+                        .filter(previous -> previous.attendance.closeOpenEntry(timestamp))
+                        .ifPresent(previous -> previous.dirty = true);
+            }
+            tracked.dirty = true;
+        }
+
+        for (Optional<TrackedRow> entry : rows.values()) {
+            entry.filter(tracked -> tracked.dirty).ifPresent(tracked -> {
+                copy(tracked.attendance, tracked.row);
+                jpaRepository.save(tracked.row);
+            });
+        }
+    }
+
+    /**
+     * Fila existente del empleado y día, bloqueada. Se consulta primero sin bloqueo: en MySQL un
+     * SELECT ... FOR UPDATE que no encuentra la fila deja un gap lock, y dos transacciones que
+     * luego insertan en ese hueco se bloquean mutuamente.
+     */
+    private Optional<TrackedRow> load(Map<String, Optional<TrackedRow>> rows, String employeeID, LocalDate day) {
+        return rows.computeIfAbsent(key(employeeID, day), key ->
+                jpaRepository.existsByEmployeeIDAndAttendanceDate(employeeID, day)
+                        ? jpaRepository.findForUpdate(employeeID, day).map(TrackedRow::new)
+                        : Optional.empty());
+    }
+
+    /**
+     * Como load, pero si la fila no existe la inserta y la bloquea. Si otra transacción la
+     * insertó a la vez, el INSERT espera a que confirme, falla por uk_daily_attendance_employee_date
+     * y la fila de esa transacción es la que se bloquea y actualiza.
+     */
+    private TrackedRow loadOrCreate(Map<String, Optional<TrackedRow>> rows, String employeeID, LocalDate day) {
+        Optional<TrackedRow> existing = load(rows, employeeID, day);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        insertIfAbsent(employeeID, day);
+        TrackedRow created = jpaRepository.findForUpdate(employeeID, day)
+                .map(TrackedRow::new)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Asistencia de " + employeeID + " del " + day + " no encontrada después de insertarla"));
+        rows.put(key(employeeID, day), Optional.of(created));
+        return created;
+    }
+
+    private void insertIfAbsent(String employeeID, LocalDate day) {
+        try {
+            jdbcTemplate.update("INSERT INTO daily_attendance (employeeid, attendance_date, entry_count, total_seconds) "
+                    + "VALUES (?, ?, 0, 0)", employeeID, day);
+        } catch (DuplicateKeyException e) {
+            logger.debug("Asistencia de {} del {} creada por otra transacción", employeeID, day);
+        }
+    }
+
+    private static String key(String employeeID, LocalDate day) {
+        return employeeID + '|' + day;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyAttendance> findByDate(LocalDate date) {
+        return jpaRepository.findByAttendanceDateOrderByEmployeeID(date).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Aplica los accesos del día en orden y luego cierra los turnos nocturnos: un ingreso que
+     * quedó abierto se cierra con el primer acceso del empleado al día siguiente si es una
+     * salida, igual que en el camino en vivo. Las filas del día siguiente no se modifican.
+     */
+    @Override
+    @Transactional
+    public int rebuild(LocalDate date) {
+        jpaRepository.deleteByAttendanceDate(date);
+        int applied = 0;
+        try (Stream<com.accesscontrol.accesscontrol.model.AccessRecord> rows = accessRecordJpaRepository
+                .streamByDateRange(date.atStartOfDay(), endOfDay(date))) {
+            for (var row : (Iterable<com.accesscontrol.accesscontrol.model.AccessRecord>) rows::iterator) {
+                apply(accessRecordMapper.toDomainEntity(row));
+                applied++;
+            }
+        }
+        LocalDate nextDay = date.plusDays(1);
+        for (var row : jpaRepository.findByAttendanceDateAndOpenEntryIsNotNull(date)) {
+            accessRecordJpaRepository.findFirstByEmployeeIDAndAccessTimestampBetweenOrderByAccessTimestampAscIdAsc(
+                            row.getEmployeeID(), nextDay.atStartOfDay(), endOfDay(nextDay))
+                    .filter(first -> first.getAccessType() == com.accesscontrol.accesscontrol.model.AccessRecord.AccessType.EXIT)
+                    .ifPresent(exit -> {
+                        DailyAttendance attendance = toDomain(row);
+                        attendance.closeOpenEntry(exit.getAccessTimestamp());
+                        copy(attendance, row);
+                        jpaRepository.save(row);
+                    });
+        }
+        logger.info("Asistencia diaria de {} reconstruida con {} accesos", date, applied);
+        return applied;
+    }
+
+    private static LocalDateTime endOfDay(LocalDate date) {
+        return date.atTime(23, 59, 59, 999_999_999);
+    }
+
+    private DailyAttendance toDomain(com.accesscontrol.accesscontrol.model.DailyAttendance row) {
+        DailyAttendance domain = new DailyAttendance(row.getEmployeeID(), row.getAttendanceDate());
+        domain.setEmployeeCode(row.getEmployeeCode());
+        domain.setFirstEntry(row.getFirstEntry());
+        domain.setLastExit(row.getLastExit());
+        domain.setEntryCount(row.getEntryCount());
+        domain.setTotalSeconds(row.getTotalSeconds());
+        domain.setOpenEntry(row.getOpenEntry());
+        return domain;
+    }
+
+    /**
+     * Fila JPA junto con su estado de dominio mientras se aplica un lote
+     */
+    private final class TrackedRow {
+        private final com.accesscontrol.accesscontrol.model.DailyAttendance row;
+        private final DailyAttendance attendance;
+        private boolean dirty;
+
+        private TrackedRow(com.accesscontrol.accesscontrol.model.DailyAttendance row) {
+            this.row = row;
+            this.attendance = toDomain(row);
+        }
+    }
+
+    private void copy(DailyAttendance domain, com.accesscontrol.accesscontrol.model.DailyAttendance row) {
+        row.setEmployeeCode(domain.getEmployeeCode());
+        row.setFirstEntry(domain.getFirstEntry());
+        row.setLastExit(domain.getLastExit());
+        row.setEntryCount(domain.getEntryCount());
+        row.setTotalSeconds(domain.getTotalSeconds());
+        row.setOpenEntry(domain.getOpenEntry());
+    }
+}
@@ -1,13 +1,21 @@
 package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa;
 
 import com.accesscontrol.accesscontrol.model.AccessRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio JPA
@@ -15,24 +23,84 @@ import java.util.List;
  */
 @Repository
 public interface AccessRecordJpaRepository extends JpaRepository<AccessRecord, Long> {
-    List<AccessRecord> findByEmployeeID(String employeeID);
-    List<AccessRecord> findByEmployeeCode(String employeeCode);
-    List<AccessRecord> findByAccessTimestampBetween(LocalDateTime start, LocalDateTime end);
+    long countByAccessTimestampGreaterThanEqual(LocalDateTime since);
     
-    @Query("SELECT ar FROM AccessRecord ar WHERE ar.employeeID = :employeeID AND ar.accessTimestamp BETWEEN :start AND :end")
-    List<AccessRecord> findByEmployeeIDAndDateRange(@Param("employeeID") String employeeID, 
-                                                      @Param("start") LocalDateTime start, 
-                                                      @Param("end") LocalDateTime end);
+    // Último acceso: una sola fila leída desde idx_access_employeeid_ts / idx_access_employee_code_ts
+    Optional<LatestAccessView> findFirstByEmployeeIDOrderByAccessTimestampDescIdDesc(String employeeID);
     
-    @Query("SELECT ar FROM AccessRecord ar WHERE ar.employeeCode = :employeeCode AND ar.accessTimestamp BETWEEN :start AND :end")
-    List<AccessRecord> findByEmployeeCodeAndDateRange(@Param("employeeCode") String employeeCode, 
-                                                       @Param("start") LocalDateTime start, 
-                                                       @Param("end") LocalDateTime end);
+    Optional<LatestAccessView> findFirstByEmployeeCodeOrderByAccessTimestampDescIdDesc(String employeeCode);
     
-    @Query("SELECT ar FROM AccessRecord ar WHERE ar.employeeID = :employeeID ORDER BY ar.accessTimestamp DESC")
-    List<AccessRecord> findLatestByEmployeeID(@Param("employeeID") String employeeID);
+    // Primer acceso del empleado en un rango (cierre de turnos nocturnos al reconstruir un día)
+    Optional<LatestAccessView> findFirstByEmployeeIDAndAccessTimestampBetweenOrderByAccessTimestampAscIdAsc(
+            String employeeID, LocalDateTime start, LocalDateTime end);
     
-    @Query("SELECT ar FROM AccessRecord ar WHERE ar.employeeCode = :employeeCode ORDER BY ar.accessTimestamp DESC")
-    List<AccessRecord> findLatestByEmployeeCode(@Param("employeeCode") String employeeCode);
+    // Último registro de cada empleado, usado para precargar el índice de presencia
+    @Query("SELECT ar.id AS id, ar.employeeID AS employeeID, ar.accessType AS accessType, ar.accessTimestamp AS accessTimestamp " +
+           "FROM AccessRecord ar WHERE ar.accessTimestamp = " +
+           "(SELECT MAX(latest.accessTimestamp) FROM AccessRecord latest WHERE latest.employeeID = ar.employeeID)")
+    List<LatestAccessView> findLatestPerEmployeeID();
+    
+    // Backfill de employeeCode: recorre por id (clave primaria) en lotes acotados
+    @Query("SELECT ar FROM AccessRecord ar WHERE (ar.employeeCode IS NULL OR ar.employeeCode = '') " +
+           "AND ar.id > :afterId ORDER BY ar.id")
+    List<AccessRecord> findMissingEmployeeCodeAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE AccessRecord ar SET ar.employeeCode = :employeeCode " +
+           "WHERE ar.employeeID = :employeeID AND (ar.employeeCode IS NULL OR ar.employeeCode = '')")
+    int assignEmployeeCode(@Param("employeeID") String employeeID, @Param("employeeCode") String employeeCode);
+    
+    // Historial paginado por clave (accessTimestamp, id): cada página arranca después del cursor
+    String AFTER_CURSOR = "(ar.accessTimestamp > :afterTimestamp OR (ar.accessTimestamp = :afterTimestamp AND ar.id > :afterId)) ";
+    String CURSOR_ORDER = "ORDER BY ar.accessTimestamp, ar.id";
+    
+    @Query("SELECT ar FROM AccessRecord ar WHERE " + AFTER_CURSOR + CURSOR_ORDER)
+    List<AccessRecord> findPageAfter(@Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+    
+    @Query("SELECT ar FROM AccessRecord ar WHERE ar.employeeCode = :employeeCode AND " + AFTER_CURSOR + CURSOR_ORDER)
+    List<AccessRecord> findPageByEmployeeCodeAfter(@Param("employeeCode") String employeeCode,
+                                                   @Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+    
+    @Query("SELECT ar FROM AccessRecord ar WHERE ar.employeeId = :employeeId AND " + AFTER_CURSOR + CURSOR_ORDER)
+    List<AccessRecord> findPageByEmployeeIdAfter(@Param("employeeId") Long employeeId,
+                                                 @Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+    
+    @Query("SELECT ar FROM AccessRecord ar WHERE ar.accessTimestamp BETWEEN :start AND :end AND " + AFTER_CURSOR + CURSOR_ORDER)
+    List<AccessRecord> findPageByDateRangeAfter(@Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end,
+                                                @Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+    
+    @Query("SELECT ar FROM AccessRecord ar WHERE ar.employeeCode = :employeeCode " +
+           "AND ar.accessTimestamp BETWEEN :start AND :end AND " + AFTER_CURSOR + CURSOR_ORDER)
+    List<AccessRecord> findPageByEmployeeCodeAndDateRangeAfter(@Param("employeeCode") String employeeCode,
+                                                               @Param("start") LocalDateTime start,
+                                                               @Param("end") LocalDateTime end,
+                                                               @Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                                               @Param("afterId") Long afterId,
+                                                               Pageable pageable);
+    
+    @Query("SELECT ar FROM AccessRecord ar WHERE ar.employeeId = :employeeId " +
+           "AND ar.accessTimestamp BETWEEN :start AND :end AND " + AFTER_CURSOR + CURSOR_ORDER)
+    List<AccessRecord> findPageByEmployeeIdAndDateRangeAfter(@Param("employeeId") Long employeeId,
+                                                             @Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end,
+                                                             @Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                                             @Param("afterId") Long afterId,
+                                                             Pageable pageable);
+    
+    // Accesos de un día en orden (reconstrucción de daily_attendance). Corre en la transacción que
+    // escribe daily_attendance, sobre el pool principal: Connector/J trae el día completo (no hay
+    // useCursorFetch en esa URL), así que la memoria la acota el volumen de un día, no la tabla.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT ar FROM AccessRecord ar WHERE ar.accessTimestamp BETWEEN :start AND :end " + CURSOR_ORDER)
+    Stream<AccessRecord> streamByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
-
@@ -0,0 +1,38 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa;
+
+import com.accesscontrol.accesscontrol.model.DailyAttendance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio JPA de la proyección de asistencia diaria
+ * Arquitectura Hexagonal: Infrastructure Layer - Implementación técnica
+ */
+@Repository
+public interface DailyAttendanceJpaRepository extends JpaRepository<DailyAttendance, Long> {
+
+    // Bloquea la fila para que dos accesos simultáneos del mismo empleado no pisen sus contadores
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT da FROM DailyAttendance da WHERE da.employeeID = :employeeID AND da.attendanceDate = :date")
+    Optional<DailyAttendance> findForUpdate(@Param("employeeID") String employeeID, @Param("date") LocalDate date);
+
+    // Lectura sin bloqueo: un FOR UPDATE sin resultado dejaría un gap lock en MySQL
+    boolean existsByEmployeeIDAndAttendanceDate(String employeeID, LocalDate attendanceDate);
+
+    List<DailyAttendance> findByAttendanceDateOrderByEmployeeID(LocalDate attendanceDate);
+
+    List<DailyAttendance> findByAttendanceDateAndOpenEntryIsNotNull(LocalDate attendanceDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DailyAttendance da WHERE da.attendanceDate = :date")
+    int deleteByAttendanceDate(@Param("date") LocalDate date);
+}
@@ -0,0 +1,16 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa;
+
+import com.accesscontrol.accesscontrol.model.AccessRecord;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con las columnas que necesita la validación de ingreso/salida
+ * Arquitectura Hexagonal: Infrastructure Layer
+ */
+public interface LatestAccessView {
+    Long getId();
+    String getEmployeeID();
+    AccessRecord.AccessType getAccessType();
+    LocalDateTime getAccessTimestamp();
+}
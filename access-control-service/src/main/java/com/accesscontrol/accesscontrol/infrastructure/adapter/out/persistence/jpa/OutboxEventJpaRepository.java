@@ -0,0 +1,34 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa;
+
+import com.accesscontrol.accesscontrol.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio JPA de la tabla outbox_event
+ * Arquitectura Hexagonal: Infrastructure Layer - Implementación técnica
+ */
+@Repository
+public interface OutboxEventJpaRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED (-2): con varias réplicas cada relay toma filas distintas en vez de esperarse
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e ORDER BY e.id")
+    List<OutboxEvent> findBatchForPublish(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
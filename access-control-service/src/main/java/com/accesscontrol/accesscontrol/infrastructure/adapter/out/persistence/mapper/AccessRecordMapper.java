@@ -1,6 +1,8 @@
 package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper;
 
 import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.LatestAccessView;
 import org.springframework.stereotype.Component;
 
 /**
@@ -40,6 +42,14 @@ public class AccessRecordMapper {
         return domain;
     }
     
+    public PresenceState toPresenceState(LatestAccessView view) {
+        return new PresenceState(
+                view.getEmployeeID(),
+                view.getId(),
+                convertAccessTypeFromJpa(view.getAccessType()),
+                view.getAccessTimestamp());
+    }
+    
     private com.accesscontrol.accesscontrol.model.AccessRecord.AccessType convertAccessType(
             AccessRecord.AccessType domainType) {
         if (domainType == null) return null;
@@ -0,0 +1,100 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.presence;
+
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
+import com.accesscontrol.accesscontrol.domain.port.out.PresenceStatePort;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.AccessRecordJpaRepository;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.accesscontrol.accesscontrol.config.MetricsConfig.getPresenceLookupCounter;
+
+/**
+ * Adaptador de presencia - Índice en memoria
+ * Arquitectura Hexagonal: Infrastructure Layer
+ *
+ * Mantiene employeeID -> último estado conocido. Se precarga desde la tabla access al
+ * arrancar y se actualiza en cada save confirmado, de modo que la validación de
+ * ingreso/salida no tenga que consultar el historial del empleado.
+ */
+@Component
+public class InMemoryPresenceStateAdapter implements PresenceStatePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryPresenceStateAdapter.class);
+
+    private final Map<String, PresenceState> states = new ConcurrentHashMap<>();
+    private final AccessRecordJpaRepository jpaRepository;
+    private final AccessRecordMapper mapper;
+    private final MeterRegistry meterRegistry;
+    private volatile boolean warm = false;
+
+    @Value("${access.presence.warmup-enabled:true}")
+    private boolean warmupEnabled;
+
+    public InMemoryPresenceStateAdapter(AccessRecordJpaRepository jpaRepository,
+                                        AccessRecordMapper mapper,
+                                        MeterRegistry meterRegistry) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("access_presence_index_size", states, Map::size)
+                .description("Number of employees tracked by the presence index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmupEnabled) {
+            logger.info("Precarga del índice de presencia deshabilitada; se consultará la base de datos");
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            jpaRepository.findLatestPerEmployeeID().stream()
+                    .map(mapper::toPresenceState)
+                    .forEach(this::update);
+            warm = true;
+            logger.info("Índice de presencia precargado: {} empleados en {} ms",
+                    states.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // Sin precarga el índice sigue funcionando en frío con respaldo en la base de datos
+            logger.error("No se pudo precargar el índice de presencia: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<PresenceState> findByEmployeeID(String employeeID) {
+        PresenceState state = states.get(employeeID);
+        if (state != null) {
+            getPresenceLookupCounter(meterRegistry, "hit").increment();
+        } else {
+            getPresenceLookupCounter(meterRegistry, warm ? "miss" : "cold").increment();
+        }
+        return Optional.ofNullable(state);
+    }
+
+    @Override
+    public boolean isWarm() {
+        return warm;
+    }
+
+    @Override
+    public void update(PresenceState state) {
+        if (state == null || state.getEmployeeID() == null || state.getAccessType() == null) {
+            return;
+        }
+        // Nunca retroceder: la precarga puede llegar después de un save más reciente
+        states.merge(state.getEmployeeID(), state,
+                (current, incoming) -> incoming.isNewerThan(current) ? incoming : current);
+    }
+}
@@ -4,10 +4,31 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "access")
+@Table(name = "access", indexes = {
+    // Cubren la consulta del último acceso (tipo incluido) sin leer la fila completa
+    @Index(name = "idx_access_employeeid_ts", columnList = "employeeID, access_timestamp, access_type"),
+    @Index(name = "idx_access_employee_code_ts", columnList = "employee_code, access_timestamp, access_type"),
+    // Historial por employeeId (Long) con o sin rango de fechas
+    @Index(name = "idx_access_employee_id_ts", columnList = "employee_id, access_timestamp"),
+    // Orden del historial paginado por cursor (accessTimestamp, id)
+    @Index(name = "idx_access_ts_id", columnList = "access_timestamp, id")
+})
 public class AccessRecord {
+
+    /**
+     * Ids asignados por bloques desde una tabla (optimizador pooled): Hibernate reserva
+     * ID_ALLOCATION_SIZE ids en una sola actualización y puede agrupar los INSERT en lotes JDBC,
+     * cosa que IDENTITY impide porque necesita el id generado de cada fila.
+     */
+    public static final String ID_GENERATOR_TABLE = "access_id_generator";
+    public static final String ID_GENERATOR_NAME = "access";
+    public static final int ID_ALLOCATION_SIZE = 500;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "access_id")
+    @TableGenerator(name = "access_id", table = ID_GENERATOR_TABLE,
+        pkColumnName = "sequence_name", valueColumnName = "next_val",
+        pkColumnValue = ID_GENERATOR_NAME, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "employeeID", nullable = false, length = 50)
@@ -0,0 +1,112 @@
+package com.accesscontrol.accesscontrol.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "daily_attendance",
+    uniqueConstraints = @UniqueConstraint(name = "uk_daily_attendance_employee_date", columnNames = {"employeeID", "attendance_date"}),
+    indexes = @Index(name = "idx_daily_attendance_date", columnList = "attendance_date, employeeID"))
+public class DailyAttendance {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employeeID", nullable = false, length = 50)
+    private String employeeID;  // Documento del empleado
+
+    @Column(name = "attendance_date", nullable = false)
+    private LocalDate attendanceDate;
+
+    @Column(name = "employee_code", length = 50)
+    private String employeeCode;
+
+    @Column(name = "first_entry")
+    private LocalDateTime firstEntry;
+
+    @Column(name = "last_exit")
+    private LocalDateTime lastExit;
+
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+
+    @Column(name = "total_seconds", nullable = false)
+    private long totalSeconds;
+
+    @Column(name = "open_entry")
+    private LocalDateTime openEntry;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmployeeID() {
+        return employeeID;
+    }
+
+    public void setEmployeeID(String employeeID) {
+        this.employeeID = employeeID;
+    }
+
+    public LocalDate getAttendanceDate() {
+        return attendanceDate;
+    }
+
+    public void setAttendanceDate(LocalDate attendanceDate) {
+        this.attendanceDate = attendanceDate;
+    }
+
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+
+    public void setEmployeeCode(String employeeCode) {
+        this.employeeCode = employeeCode;
+    }
+
+    public LocalDateTime getFirstEntry() {
+        return firstEntry;
+    }
+
+    public void setFirstEntry(LocalDateTime firstEntry) {
+        this.firstEntry = firstEntry;
+    }
+
+    public LocalDateTime getLastExit() {
+        return lastExit;
+    }
+
+    public void setLastExit(LocalDateTime lastExit) {
+        this.lastExit = lastExit;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(int entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public long getTotalSeconds() {
+        return totalSeconds;
+    }
+
+    public void setTotalSeconds(long totalSeconds) {
+        this.totalSeconds = totalSeconds;
+    }
+
+    public LocalDateTime getOpenEntry() {
+        return openEntry;
+    }
+
+    public void setOpenEntry(LocalDateTime openEntry) {
+        this.openEntry = openEntry;
+    }
+}
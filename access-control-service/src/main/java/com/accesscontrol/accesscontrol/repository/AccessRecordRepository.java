@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AccessRecordRepository extends JpaRepository<AccessRecord, Long> {
@@ -25,6 +26,11 @@ public interface AccessRecordRepository extends JpaRepository<AccessRecord, Long
                                                        @Param("start") LocalDateTime start, 
                                                        @Param("end") LocalDateTime end);
     
+    // Variantes top-1: leen una sola fila en lugar de todo el historial del empleado
+    Optional<AccessRecord> findFirstByEmployeeIDOrderByAccessTimestampDescIdDesc(String employeeID);
+    
+    Optional<AccessRecord> findFirstByEmployeeCodeOrderByAccessTimestampDescIdDesc(String employeeCode);
+    
     @Query("SELECT ar FROM AccessRecord ar WHERE ar.employeeCode = :employeeCode ORDER BY ar.accessTimestamp DESC")
     List<AccessRecord> findLatestByEmployeeCode(@Param("employeeCode") String employeeCode);
     
@@ -0,0 +1,86 @@
+package com.accesscontrol.accesscontrol.application.service;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
+import com.accesscontrol.accesscontrol.domain.port.out.EmployeeServicePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmployeeCodeBackfillJob - Backfill de employeeCode en segundo plano")
+class EmployeeCodeBackfillJobTest {
+
+    @Mock
+    private AccessRecordRepositoryPort repository;
+
+    @Mock
+    private EmployeeServicePort employeeService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeCodeBackfillJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new EmployeeCodeBackfillJob(repository, employeeService, meterRegistry);
+        ReflectionTestUtils.setField(job, "batchSize", 2);
+        ReflectionTestUtils.setField(job, "maxBatchesPerRun", 1);
+    }
+
+    private AccessRecord record(Long id, String document) {
+        AccessRecord record = new AccessRecord(document, AccessRecord.AccessType.ENTRY);
+        record.setId(id);
+        return record;
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("access_employee_code_backfill_records_total").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("run - Resuelve el lote con una sola llamada y un UPDATE por documento")
+    void testBatchResolvedWithOneCall() {
+        when(repository.findMissingEmployeeCodeAfter(0L, 2))
+                .thenReturn(List.of(record(1L, "12345678"), record(2L, "12345678")));
+        when(employeeService.getEmployeesByDocuments(Set.of("12345678")))
+                .thenReturn(Map.of("12345678", Map.of("employeeCode", "EMP001")));
+        when(repository.assignEmployeeCode("12345678", "EMP001")).thenReturn(2);
+
+        job.run();
+
+        verify(employeeService, times(1)).getEmployeesByDocuments(anyCollection());
+        verify(repository, times(1)).assignEmployeeCode("12345678", "EMP001");
+        assertThat(counter("updated")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("run - Reanuda desde el último id y reinicia al terminar la pasada")
+    void testResumesFromCursor() {
+        when(repository.findMissingEmployeeCodeAfter(0L, 2))
+                .thenReturn(List.of(record(1L, "11111111"), record(5L, "22222222")));
+        when(repository.findMissingEmployeeCodeAfter(5L, 2)).thenReturn(List.of());
+        when(employeeService.getEmployeesByDocuments(anyCollection())).thenReturn(Map.of());
+
+        job.run();
+        assertThat(meterRegistry.get("access_employee_code_backfill_cursor").gauge().value()).isEqualTo(5.0);
+        assertThat(counter("unresolved")).isEqualTo(2.0);
+
+        job.run();
+        assertThat(meterRegistry.get("access_employee_code_backfill_cursor").gauge().value()).isEqualTo(0.0);
+        verify(repository, never()).assignEmployeeCode(anyString(), anyString());
+    }
+}
@@ -0,0 +1,194 @@
+package com.accesscontrol.accesscontrol.application.usecase;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessBatchItemResult;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
+import com.accesscontrol.accesscontrol.domain.port.out.AlertServicePort;
+import com.accesscontrol.accesscontrol.domain.port.out.EmployeeLockPort;
+import com.accesscontrol.accesscontrol.domain.service.AccessValidationService;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.AccessRecordJpaRepository;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.presence.InMemoryPresenceStateAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RegisterAccessBatchUseCase - Ingesta de accesos por lotes")
+class RegisterAccessBatchUseCaseTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 15, 8, 0);
+
+    @Mock
+    private AccessRecordRepositoryPort repository;
+
+    @Mock
+    private AlertServicePort alertService;
+
+    @Mock
+    private AccessRecordJpaRepository jpaRepository;
+
+    @Mock
+    private EmployeeLockPort employeeLock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryPresenceStateAdapter presenceState;
+    private RegisterAccessBatchUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        presenceState = new InMemoryPresenceStateAdapter(jpaRepository, new AccessRecordMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(presenceState, "warmupEnabled", true);
+        presenceState.warmUp();
+        useCase = new RegisterAccessBatchUseCase(repository, alertService, presenceState,
+                new AccessValidationService(), employeeLock, new SimpleMeterRegistry(), transactionManager, 10, 2);
+
+        lenient().when(employeeLock.callWithLocks(anyCollection(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(1).get());
+
+        AtomicLong ids = new AtomicLong();
+        lenient().when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AccessRecord> saved = new ArrayList<>();
+            for (AccessRecord record : invocation.<List<AccessRecord>>getArgument(0)) {
+                record.setId(ids.incrementAndGet());
+                saved.add(record);
+            }
+            return saved;
+        });
+    }
+
+    private AccessRecord access(String employeeID, AccessRecord.AccessType type, int minutes) {
+        AccessRecord record = new AccessRecord(employeeID, type);
+        record.setAccessTimestamp(START.plusMinutes(minutes));
+        return record;
+    }
+
+    @Test
+    @DisplayName("Valida en orden contra los eventos ya aceptados del lote y guarda en una sola escritura")
+    void testValidatesInOrderAndSavesOnce() {
+        List<AccessRecord> batch = List.of(
+                access("111", AccessRecord.AccessType.ENTRY, 0),
+                access("111", AccessRecord.AccessType.ENTRY, 1),
+                access("222", AccessRecord.AccessType.EXIT, 2),
+                access("111", AccessRecord.AccessType.EXIT, 3),
+                access("111", AccessRecord.AccessType.ENTRY, 4));
+
+        List<AccessBatchItemResult> results = useCase.execute(batch);
+
+        assertThat(results).extracting(AccessBatchItemResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(AccessBatchItemResult::isAccepted).containsExactly(true, false, false, true, true);
+        assertThat(results.get(1).getAlertCode()).isEqualTo("EMPLOYEE_ALREADY_ENTERED");
+        assertThat(results.get(2).getAlertCode()).isEqualTo("EMPLOYEE_ALREADY_LEFT");
+        assertThat(results.get(4).getRecord().getId()).isEqualTo(3L);
+
+        verify(repository, times(1)).saveAll(argThat(records -> records.size() == 3));
+        verify(repository, never()).findLatestStateByEmployeeID(anyString());
+        verify(repository, never()).save(any());
+        verify(employeeLock).callWithLocks(eq(Set.of("111", "222")), any());
+        verify(transactionManager, times(1)).commit(any());
+        // Los aceptados sólo llegan al índice real cuando el repositorio confirma el lote
+        assertThat(presenceState.findByEmployeeID("111")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Un tipo de acceso inválido se rechaza sin afectar al resto del lote")
+    void testInvalidAccessTypeIsRejectedPerItem() {
+        AccessRecord invalid = new AccessRecord();
+        invalid.setEmployeeID("111");
+
+        List<AccessBatchItemResult> results = useCase.execute(List.of(invalid, access("111", AccessRecord.AccessType.ENTRY, 0)));
+
+        assertThat(results.get(0).getAlertCode()).isEqualTo("INVALID_ACCESS_TYPE");
+        assertThat(results.get(1).isAccepted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Cada grupo de empleados se bloquea y confirma en su propia transacción")
+    void testEmployeesAreSplitIntoShortTransactions() {
+        List<AccessRecord> batch = List.of(
+                access("111", AccessRecord.AccessType.ENTRY, 0),
+                access("222", AccessRecord.AccessType.ENTRY, 1),
+                access("333", AccessRecord.AccessType.ENTRY, 2),
+                access("111", AccessRecord.AccessType.EXIT, 3));
+
+        List<AccessBatchItemResult> results = useCase.execute(batch);
+
+        assertThat(results).extracting(AccessBatchItemResult::isAccepted).containsOnly(true);
+        InOrder inOrder = inOrder(employeeLock, repository, transactionManager);
+        inOrder.verify(employeeLock).callWithLocks(eq(Set.of("111", "222")), any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(repository).saveAll(argThat(records -> records.size() == 3));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(employeeLock).callWithLocks(eq(Set.of("333")), any());
+        inOrder.verify(repository).saveAll(argThat(records -> records.size() == 1));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Si un grupo no se puede guardar sólo se rechazan sus eventos")
+    void testFailedGroupOnlyRejectsItsItems() {
+        when(repository.saveAll(argThat(records -> records.stream().anyMatch(r -> "333".equals(r.getEmployeeID())))))
+                .thenThrow(new DataAccessResourceFailureException("conexión perdida"));
+        List<AccessRecord> batch = List.of(
+                access("111", AccessRecord.AccessType.ENTRY, 0),
+                access("222", AccessRecord.AccessType.ENTRY, 1),
+                access("333", AccessRecord.AccessType.ENTRY, 2));
+
+        List<AccessBatchItemResult> results = useCase.execute(batch);
+
+        assertThat(results).extracting(AccessBatchItemResult::isAccepted).containsExactly(true, true, false);
+        assertThat(results.get(2).getAlertCode()).isEqualTo("STORAGE_ERROR");
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Si un grupo falla sus rechazos de validación se mantienen y sus alertas se reescriben")
+    void testFailedGroupKeepsValidationRejections() {
+        when(repository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("conexión perdida"));
+        List<AccessRecord> batch = List.of(
+                access("111", AccessRecord.AccessType.ENTRY, 0),
+                access("111", AccessRecord.AccessType.ENTRY, 1),
+                access("222", AccessRecord.AccessType.EXIT, 2));
+
+        List<AccessBatchItemResult> results = useCase.execute(batch);
+
+        assertThat(results).extracting(AccessBatchItemResult::getAlertCode)
+                .containsExactly("STORAGE_ERROR", "EMPLOYEE_ALREADY_ENTERED", "EMPLOYEE_ALREADY_LEFT");
+        // Una vez dentro de la transacción del grupo y otra al reescribirlas tras el rollback
+        verify(alertService, times(2)).sendAlert(eq("EMPLOYEE_ALREADY_ENTERED"), anyString(), eq("111"));
+        verify(alertService, times(2)).sendAlert(eq("EMPLOYEE_ALREADY_LEFT"), anyString(), eq("222"));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Rechaza lotes que superan el tamaño máximo")
+    void testRejectsOversizedBatch() {
+        List<AccessRecord> batch = Collections.nCopies(11, access("111", AccessRecord.AccessType.ENTRY, 0));
+
+        assertThatThrownBy(() -> useCase.execute(batch)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(repository);
+    }
+}
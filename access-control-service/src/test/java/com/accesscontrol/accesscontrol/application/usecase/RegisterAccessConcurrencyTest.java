@@ -0,0 +1,135 @@
+package com.accesscontrol.accesscontrol.application.usecase;
+
+import com.accesscontrol.accesscontrol.AccessControlServiceApplication;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.port.out.AlertServicePort;
+import com.accesscontrol.accesscontrol.domain.service.AccessValidationService;
+import com.accesscontrol.accesscontrol.exception.AccessValidationException;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.lock.StripedEmployeeLockAdapter;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.outbox.OutboxWriter;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.AccessRecordRepositoryAdapter;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.DailyAttendanceRepositoryAdapter;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.presence.InMemoryPresenceStateAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Sin transacción de prueba: cada registro confirma en su propia transacción, como en producción
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ContextConfiguration(classes = AccessControlServiceApplication.class)
+@Import({RegisterAccessUseCase.class, AccessValidationService.class, AccessRecordRepositoryAdapter.class,
+        OutboxWriter.class, DailyAttendanceRepositoryAdapter.class, AccessRecordMapper.class, InMemoryPresenceStateAdapter.class,
+        StripedEmployeeLockAdapter.class, RegisterAccessConcurrencyTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("RegisterAccessUseCase - Marcas simultáneas de la misma credencial")
+class RegisterAccessConcurrencyTest {
+
+    private static final int EMPLOYEES = 20;
+    private static final int DUPLICATES = 8;
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private RegisterAccessUseCase registerAccessUseCase;
+
+    @Autowired
+    private InMemoryPresenceStateAdapter presenceState;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private AlertServicePort alertService;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM outbox_event");
+        jdbcTemplate.update("DELETE FROM daily_attendance");
+        jdbcTemplate.update("DELETE FROM access");
+    }
+
+    /**
+     * Dispara DUPLICATES marcas iguales por empleado desde hilos distintos a la vez y devuelve
+     * cuántas se aceptaron por empleado; las rechazadas deben traer el código de alerta esperado.
+     */
+    private Map<String, Integer> fireDuplicates(AccessRecord.AccessType type, String expectedAlertCode) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(EMPLOYEES * DUPLICATES);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, Integer> accepted = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int e = 0; e < EMPLOYEES; e++) {
+                String employeeID = String.valueOf(10_000_000 + e);
+                for (int d = 0; d < DUPLICATES; d++) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        try {
+                            registerAccessUseCase.execute(new AccessRecord(employeeID, type));
+                            accepted.merge(employeeID, 1, Integer::sum);
+                        } catch (AccessValidationException ex) {
+                            assertThat(ex.getAlertCode()).isEqualTo(expectedAlertCode);
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return accepted;
+    }
+
+    @Test
+    @DisplayName("Sólo una de las marcas duplicadas se registra por empleado, con índice frío y precargado")
+    void testParallelDuplicatesRegisterOnce() throws Exception {
+        // Índice frío: la validación consulta la base y debe ver el ingreso ya confirmado
+        Map<String, Integer> entries = fireDuplicates(AccessRecord.AccessType.ENTRY, "EMPLOYEE_ALREADY_ENTERED");
+
+        assertThat(entries).hasSize(EMPLOYEES).allSatisfy((employeeID, count) -> assertThat(count).isEqualTo(1));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM access WHERE access_type = 'ENTRY'", Integer.class))
+                .isEqualTo(EMPLOYEES);
+
+        // Índice precargado: la validación responde desde memoria
+        presenceState.warmUp();
+        Map<String, Integer> exits = fireDuplicates(AccessRecord.AccessType.EXIT, "EMPLOYEE_ALREADY_LEFT");
+
+        assertThat(exits).hasSize(EMPLOYEES).allSatisfy((employeeID, count) -> assertThat(count).isEqualTo(1));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM access WHERE access_type = 'EXIT'", Integer.class))
+                .isEqualTo(EMPLOYEES);
+    }
+}
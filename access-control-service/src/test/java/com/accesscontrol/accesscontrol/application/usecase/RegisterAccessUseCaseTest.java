@@ -0,0 +1,94 @@
+package com.accesscontrol.accesscontrol.application.usecase;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
+import com.accesscontrol.accesscontrol.domain.port.out.AlertServicePort;
+import com.accesscontrol.accesscontrol.domain.port.out.PresenceStatePort;
+import com.accesscontrol.accesscontrol.domain.service.AccessValidationService;
+import com.accesscontrol.accesscontrol.exception.AccessValidationException;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.lock.StripedEmployeeLockAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RegisterAccessUseCase - Bloqueo por empleado fuera de la transacción")
+class RegisterAccessUseCaseTest {
+
+    @Mock
+    private AccessRecordRepositoryPort repository;
+
+    @Mock
+    private AlertServicePort alertService;
+
+    @Mock
+    private PresenceStatePort presenceState;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StripedEmployeeLockAdapter employeeLock;
+    private RegisterAccessUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        employeeLock = new StripedEmployeeLockAdapter(16, Duration.ofMillis(200));
+        useCase = new RegisterAccessUseCase(repository, alertService, presenceState,
+                new AccessValidationService(), employeeLock, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Una marca que espera a otra del mismo empleado no abre transacción mientras espera")
+    void testWaitingForTheLockHoldsNoConnection() throws Exception {
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> holder = CompletableFuture.supplyAsync(() -> employeeLock.callWithLock("111", () -> {
+            held.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> useCase.execute(new AccessRecord("111", AccessRecord.AccessType.ENTRY)))
+                .isInstanceOf(AccessValidationException.class)
+                .extracting("alertCode").isEqualTo("CONCURRENT_ACCESS");
+
+        verifyNoInteractions(transactionManager, repository);
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("El rechazo de validación confirma la transacción y suelta el bloqueo")
+    void testRejectionCommitsAndReleasesTheLock() {
+        assertThatThrownBy(() -> useCase.execute(new AccessRecord("222", AccessRecord.AccessType.EXIT)))
+                .isInstanceOf(AccessValidationException.class)
+                .extracting("alertCode").isEqualTo("EMPLOYEE_ALREADY_LEFT");
+
+        verify(alertService).sendAlert(eq("EMPLOYEE_ALREADY_LEFT"), anyString(), eq("222"));
+        verify(transactionManager).commit(any());
+        verify(transactionManager, never()).rollback(any());
+
+        useCase.execute(new AccessRecord("222", AccessRecord.AccessType.ENTRY));
+
+        verify(repository).save(any(AccessRecord.class));
+        verify(transactionManager, times(2)).commit(any());
+    }
+}
@@ -0,0 +1,37 @@
+package com.accesscontrol.accesscontrol.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AccessCursor - Cursor de paginación del historial")
+class AccessCursorTest {
+
+    @Test
+    @DisplayName("encode/decode - El token conserva fecha e id")
+    void testRoundTrip() {
+        AccessCursor cursor = new AccessCursor(LocalDateTime.of(2024, 3, 15, 8, 0, 0, 123_000_000), 42L);
+
+        AccessCursor decoded = AccessCursor.decode(cursor.encode());
+
+        assertThat(decoded.getAccessTimestamp()).isEqualTo(cursor.getAccessTimestamp());
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("decode - Sin cursor se empieza por la primera página")
+    void testBlankIsStart() {
+        assertThat(AccessCursor.decode(null)).isSameAs(AccessCursor.START);
+        assertThat(AccessCursor.decode("")).isSameAs(AccessCursor.START);
+    }
+
+    @Test
+    @DisplayName("decode - Token alterado se rechaza como argumento inválido")
+    void testInvalidToken() {
+        assertThatThrownBy(() -> AccessCursor.decode("no-es-un-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,123 @@
+package com.accesscontrol.accesscontrol.domain.service;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.PresenceState;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
+import com.accesscontrol.accesscontrol.domain.port.out.AlertServicePort;
+import com.accesscontrol.accesscontrol.exception.AccessValidationException;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.AccessRecordJpaRepository;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.presence.InMemoryPresenceStateAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccessValidationService - Validación con índice de presencia")
+class AccessValidationServiceTest {
+
+    @Mock
+    private AccessRecordRepositoryPort repository;
+
+    @Mock
+    private AlertServicePort alertService;
+
+    @Mock
+    private AccessRecordJpaRepository jpaRepository;
+
+    private InMemoryPresenceStateAdapter presenceState;
+    private final AccessValidationService validationService = new AccessValidationService();
+
+    @BeforeEach
+    void setUp() {
+        presenceState = new InMemoryPresenceStateAdapter(jpaRepository, new AccessRecordMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(presenceState, "warmupEnabled", true);
+    }
+
+    private AccessRecord record(Long id, AccessRecord.AccessType type, LocalDateTime timestamp) {
+        AccessRecord record = new AccessRecord("12345678", type);
+        record.setId(id);
+        record.setAccessTimestamp(timestamp);
+        return record;
+    }
+
+    // ============================================
+    // PRUEBAS: índice precargado
+    // ============================================
+    @Test
+    @DisplayName("Índice precargado - Rechaza ingreso duplicado sin consultar la base de datos")
+    void testDuplicateEntryAnsweredFromMemory() {
+        presenceState.warmUp();
+        presenceState.update(PresenceState.from(record(1L, AccessRecord.AccessType.ENTRY, LocalDateTime.now())));
+
+        assertThatThrownBy(() -> validationService.validateAccess(
+                record(null, AccessRecord.AccessType.ENTRY, LocalDateTime.now()), repository, presenceState, alertService))
+                .isInstanceOf(AccessValidationException.class)
+                .extracting("alertCode").isEqualTo("EMPLOYEE_ALREADY_ENTERED");
+        verify(alertService).sendAlert(eq("EMPLOYEE_ALREADY_ENTERED"), anyString(), eq("12345678"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Índice precargado - Empleado desconocido no tiene registros previos")
+    void testUnknownEmployeeWhenWarm() {
+        presenceState.warmUp();
+
+        assertThatCode(() -> validationService.validateAccess(
+                record(null, AccessRecord.AccessType.ENTRY, LocalDateTime.now()), repository, presenceState, alertService))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> validationService.validateAccess(
+                record(null, AccessRecord.AccessType.EXIT, LocalDateTime.now()), repository, presenceState, alertService))
+                .isInstanceOf(AccessValidationException.class)
+                .extracting("alertCode").isEqualTo("EMPLOYEE_ALREADY_LEFT");
+        verifyNoInteractions(repository);
+    }
+
+    // ============================================
+    // PRUEBAS: índice en frío
+    // ============================================
+    @Test
+    @DisplayName("Índice en frío - Consulta la base de datos y recuerda el resultado")
+    void testColdIndexFallsBackToDatabase() {
+        when(repository.findLatestStateByEmployeeID("12345678"))
+                .thenReturn(Optional.of(PresenceState.from(record(7L, AccessRecord.AccessType.EXIT, LocalDateTime.now().minusHours(1)))));
+
+        assertThatThrownBy(() -> validationService.validateAccess(
+                record(null, AccessRecord.AccessType.EXIT, LocalDateTime.now()), repository, presenceState, alertService))
+                .isInstanceOf(AccessValidationException.class);
+        assertThatThrownBy(() -> validationService.validateAccess(
+                record(null, AccessRecord.AccessType.EXIT, LocalDateTime.now()), repository, presenceState, alertService))
+                .isInstanceOf(AccessValidationException.class);
+
+        verify(repository, times(1)).findLatestStateByEmployeeID("12345678");
+        assertThat(presenceState.findByEmployeeID("12345678")).get()
+                .extracting(PresenceState::getRecordId).isEqualTo(7L);
+    }
+
+    // ============================================
+    // PRUEBAS: orden de actualización
+    // ============================================
+    @Test
+    @DisplayName("update - Un estado más antiguo no reemplaza al más reciente")
+    void testUpdateNeverMovesBackwards() {
+        LocalDateTime now = LocalDateTime.now();
+        presenceState.update(PresenceState.from(record(2L, AccessRecord.AccessType.EXIT, now)));
+        presenceState.update(PresenceState.from(record(1L, AccessRecord.AccessType.ENTRY, now.minusMinutes(5))));
+        presenceState.update(PresenceState.from(record(1L, AccessRecord.AccessType.ENTRY, now)));
+
+        assertThat(presenceState.findByEmployeeID("12345678")).get()
+                .extracting(PresenceState::getAccessType).isEqualTo(AccessRecord.AccessType.EXIT);
+    }
+}
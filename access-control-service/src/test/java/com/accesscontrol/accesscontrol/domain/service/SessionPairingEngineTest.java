@@ -0,0 +1,85 @@
+package com.accesscontrol.accesscontrol.domain.service;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.AccessSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SessionPairingEngine - Emparejamiento de ingresos y salidas en una pasada")
+class SessionPairingEngineTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 15, 0, 0);
+
+    private long nextId = 1;
+
+    private AccessRecord access(AccessRecord.AccessType type, int hour) {
+        AccessRecord record = new AccessRecord("12345678", type);
+        record.setId(nextId++);
+        record.setAccessTimestamp(DAY.plusHours(hour));
+        return record;
+    }
+
+    private List<AccessSession> pair(AccessRecord... records) {
+        List<AccessSession> sessions = new ArrayList<>();
+        SessionPairingEngine engine = new SessionPairingEngine(sessions::add);
+        for (AccessRecord record : records) {
+            engine.accept(record);
+        }
+        engine.finish();
+        return sessions;
+    }
+
+    @Test
+    @DisplayName("Ingresos y salidas alternados - Sesiones completas con duración")
+    void testAlternatingRecords() {
+        List<AccessSession> sessions = pair(
+                access(AccessRecord.AccessType.ENTRY, 8), access(AccessRecord.AccessType.EXIT, 12),
+                access(AccessRecord.AccessType.ENTRY, 13), access(AccessRecord.AccessType.EXIT, 17));
+
+        assertThat(sessions).hasSize(2).allMatch(AccessSession::isComplete);
+        assertThat(sessions).extracting(AccessSession::getDuration)
+                .containsExactly(Duration.ofHours(4), Duration.ofHours(4));
+    }
+
+    @Test
+    @DisplayName("Ingreso sin salida - Se emite como sesión abierta y no se pierde el siguiente")
+    void testEntryWithoutExit() {
+        List<AccessSession> sessions = pair(
+                access(AccessRecord.AccessType.ENTRY, 8),
+                access(AccessRecord.AccessType.ENTRY, 9), access(AccessRecord.AccessType.EXIT, 17),
+                access(AccessRecord.AccessType.ENTRY, 20));
+
+        assertThat(sessions).hasSize(3);
+        assertThat(sessions.get(0).isOpen()).isTrue();
+        assertThat(sessions.get(1).getDuration()).isEqualTo(Duration.ofHours(8));
+        assertThat(sessions.get(2).isOpen()).isTrue();
+        assertThat(sessions.get(2).getDuration()).isNull();
+    }
+
+    @Test
+    @DisplayName("Salida sin ingreso - El ingreso quedó fuera del rango")
+    void testExitWithoutEntry() {
+        List<AccessSession> sessions = pair(access(AccessRecord.AccessType.EXIT, 6), access(AccessRecord.AccessType.ENTRY, 8));
+
+        assertThat(sessions).hasSize(2);
+        assertThat(sessions.get(0).getEntry()).isNull();
+        assertThat(sessions.get(0).getExit()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Accesos desordenados - Se rechazan")
+    void testOutOfOrderRecords() {
+        SessionPairingEngine engine = new SessionPairingEngine(session -> {});
+        engine.accept(access(AccessRecord.AccessType.ENTRY, 10));
+
+        assertThatThrownBy(() -> engine.accept(access(AccessRecord.AccessType.EXIT, 9)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.in.web;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordExportPort;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.in.web.mapper.AccessRecordWebMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccessRecordExportWriter - Exportación en streaming")
+class AccessRecordExportWriterTest {
+
+    @Mock
+    private AccessRecordExportPort repository;
+
+    private AccessRecordExportWriter exportWriter;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportWriter = new AccessRecordExportWriter(repository, new AccessRecordWebMapper(), objectMapper);
+    }
+
+    private AccessRecord record(Long id, String location) {
+        AccessRecord record = new AccessRecord("12345678", AccessRecord.AccessType.ENTRY);
+        record.setId(id);
+        record.setEmployeeCode("EMP001");
+        record.setAccessTimestamp(LocalDateTime.of(2024, 3, 15, 8, 0));
+        record.setLocation(location);
+        record.setStatus(AccessRecord.AccessStatus.SUCCESS);
+        return record;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenRecords(AccessRecord... records) {
+        when(repository.forEachRecord(any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<AccessRecord> consumer = invocation.getArgument(2);
+            List.of(records).forEach(consumer);
+            return (long) records.length;
+        });
+    }
+
+    @Test
+    @DisplayName("writeNdjson - Un objeto JSON por línea")
+    void testNdjson() throws Exception {
+        givenRecords(record(1L, "Sede Norte"), record(2L, "Sede Sur"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportWriter.writeNdjson(out, null, null);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":1").contains("\"accessTimestamp\":\"2024-03-15T08:00:00\"");
+        assertThat(lines[1]).contains("\"location\":\"Sede Sur\"");
+    }
+
+    @Test
+    @DisplayName("writeCsv - Encabezado, fecha con segundos y valores con comas o comillas escapados")
+    void testCsvEscaping() throws Exception {
+        givenRecords(record(1L, "Bodega \"A\", piso 2"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportWriter.writeCsv(out, null, null);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[0]).startsWith("id,employeeID,employeeCode");
+        assertThat(lines[1]).isEqualTo("1,12345678,EMP001,ENTRY,2024-03-15T08:00:00,\"Bodega \"\"A\"\", piso 2\",,SUCCESS,");
+    }
+}
@@ -0,0 +1,161 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.in.web;
+
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.port.out.AccessRecordRepositoryPort;
+import com.accesscontrol.accesscontrol.domain.port.out.EmployeeServicePort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ráfaga de 10.000 check-ins concurrentes contra POST /access/usercheckin con las dependencias
+ * simuladas: employee-service tarda 100 ms y el guardado 20 ms dentro de la transacción (el
+ * resto del caso de uso, bloqueo por empleado y validación, es el real). Lo que se mide es cómo
+ * el servidor absorbe esas esperas de I/O. Registra en el log hilos de plataforma pico, p50/p99
+ * y peticiones por segundo. Con hilos virtuales además exige que el pico de hilos de plataforma
+ * quede por debajo de server.tomcat.threads.max: las esperas no deben ocupar un hilo del pool.
+ *
+ * Se ejecuta a pedido, una vez por modo, en una máquina con varios núcleos (cliente y servidor
+ * comparten la JVM) y con net.core.somaxconn y tcp_max_syn_backlog por encima de 10.000, o la
+ * cola de conexiones del kernel domina el resultado:
+ * mvn test -Dtest=CheckInLoadTest -Dloadtest=true
+ * mvn test -Pjava21 -Dtest=CheckInLoadTest -Dloadtest=true -Dspring.threads.virtual.enabled=true
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        // Cada transacción retiene una conexión durante el guardado simulado
+        "spring.datasource.hikari.maximum-pool-size=100",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.accesscontrol=INFO",
+        "access.presence.warmup-enabled=false",
+        "access.backfill.employee-code.enabled=false",
+        "access.outbox.relay.enabled=false",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=10000"
+})
+@DisplayName("Carga - Ráfaga de check-ins con employee-service lento")
+class CheckInLoadTest {
+
+    private static final int REQUESTS = 10_000;
+    private static final Duration EMPLOYEE_SERVICE_LATENCY = Duration.ofMillis(100);
+    private static final Duration SAVE_LATENCY = Duration.ofMillis(20);
+    private static final AtomicLong ids = new AtomicLong();
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckInLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @MockBean
+    private EmployeeServicePort employeeServicePort;
+
+    @MockBean
+    private AccessRecordRepositoryPort repository;
+
+    @Test
+    @DisplayName("Todas las peticiones de la ráfaga se registran")
+    void burstOfCheckIns() {
+        when(employeeServicePort.getEmployeeByDocument(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(EMPLOYEE_SERVICE_LATENCY.toMillis());
+            return Map.of("employeeCode", "EMP" + invocation.getArgument(0));
+        });
+        when(repository.save(any())).thenAnswer(invocation -> {
+            Thread.sleep(SAVE_LATENCY.toMillis());
+            AccessRecord record = invocation.getArgument(0);
+            record.setId(ids.incrementAndGet());
+            return record;
+        });
+        // Pocos hilos en el cliente para que el pico de hilos refleje al servidor
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        send(client, 0, 200).join();
+        threads.resetPeakThreadCount();
+
+        long[] latencies = new long[REQUESTS];
+        long start = System.nanoTime();
+        CompletableFuture<int[]> statuses = send(client, 1_000, REQUESTS, latencies);
+        int[] codes = statuses.join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        clientExecutor.shutdown();
+
+        Arrays.sort(latencies);
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        double requestsPerSecond = REQUESTS / (elapsed.toNanos() / 1e9);
+        int peakThreads = threads.getPeakThreadCount();
+        logger.info("{}: {} peticiones en {} ms | {} req/s | p50 {} ms | p99 {} ms | hilos pico {}",
+                virtual ? "Hilos virtuales" : "Hilos de plataforma",
+                REQUESTS, elapsed.toMillis(), Math.round(requestsPerSecond),
+                latencies[REQUESTS / 2] / 1_000_000, latencies[REQUESTS * 99 / 100] / 1_000_000,
+                peakThreads);
+
+        assertThat(codes).containsOnly(201);
+        if (virtual) {
+            int maxThreads = environment.getProperty("server.tomcat.threads.max", Integer.class, 200);
+            assertThat(peakThreads)
+                    .as("hilos de plataforma pico con hilos virtuales")
+                    .isLessThan(maxThreads);
+        }
+    }
+
+    private CompletableFuture<int[]> send(HttpClient client, int offset, int count) {
+        return send(client, offset, count, new long[count]);
+    }
+
+    private CompletableFuture<int[]> send(HttpClient client, int offset, int count, long[] latencies) {
+        int[] codes = new int[count];
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            String body = "{\"employeeID\":\"" + (10_000_000 + offset + i) + "\",\"accessType\":\"ENTRY\"}";
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/access/usercheckin"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            long sent = System.nanoTime();
+            requests[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        codes[index] = response.statusCode();
+                    });
+        }
+        return CompletableFuture.allOf(requests).thenApply(done -> codes);
+    }
+}
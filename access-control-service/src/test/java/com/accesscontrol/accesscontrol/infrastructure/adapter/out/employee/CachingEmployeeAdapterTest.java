@@ -0,0 +1,121 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.employee;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingEmployeeAdapter - Caché de consultas a employee-service")
+class CachingEmployeeAdapterTest {
+
+    @Mock
+    private RestEmployeeAdapter delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingEmployeeAdapter adapter;
+
+    private final Map<String, Object> employee = Map.of(
+            "document", "12345678",
+            "employeeCode", "EMP001",
+            "firstname", "Juan",
+            "lastname", "Perez");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachingEmployeeAdapter(delegate, meterRegistry, 100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("getEmployeeByDocument - La segunda consulta se sirve desde caché")
+    void testDocumentLookupIsCached() {
+        when(delegate.fetchByDocument("12345678")).thenReturn(Optional.of(employee));
+
+        assertThat(adapter.getEmployeeByDocument("12345678")).containsEntry("employeeCode", "EMP001");
+        assertThat(adapter.getEmployeeByDocument("12345678")).containsEntry("employeeCode", "EMP001");
+
+        verify(delegate, times(1)).fetchByDocument("12345678");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "employeeByDocument").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("getEmployeeByCode - Reutiliza lo obtenido por documento")
+    void testDocumentLookupPopulatesCodeCache() {
+        when(delegate.fetchByDocument("12345678")).thenReturn(Optional.of(employee));
+
+        adapter.getEmployeeByDocument("12345678");
+
+        assertThat(adapter.getEmployeeByCode("EMP001")).containsEntry("document", "12345678");
+        verify(delegate, never()).fetchByCode(anyString());
+    }
+
+    @Test
+    @DisplayName("Empleado inexistente - Se cachea como negativo")
+    void testNotFoundIsNegativelyCached() {
+        when(delegate.fetchByDocument("99999999")).thenReturn(Optional.empty());
+
+        assertThat(adapter.getEmployeeByDocument("99999999")).isNull();
+        assertThat(adapter.getEmployeeByDocument("99999999")).isNull();
+
+        verify(delegate, times(1)).fetchByDocument("99999999");
+    }
+
+    @Test
+    @DisplayName("Error de red - No se cachea y se reintenta")
+    void testTransientErrorsAreNotCached() {
+        when(delegate.fetchByDocument("12345678"))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn(Optional.of(employee));
+
+        assertThat(adapter.getEmployeeByDocument("12345678")).isNull();
+        assertThat(adapter.getEmployeeByDocument("12345678")).isNotNull();
+
+        verify(delegate, times(2)).fetchByDocument("12345678");
+    }
+
+    @Test
+    @DisplayName("Circuito abierto - Responde desde caché o sin enriquecer")
+    void testOpenCircuitFallsBackToCache() {
+        CallNotPermittedException open = CallNotPermittedException.createCallNotPermittedException(
+                CircuitBreaker.ofDefaults("employee-service"));
+        when(delegate.fetchByDocument("12345678")).thenReturn(Optional.of(employee));
+        adapter.getEmployeeByDocument("12345678");
+        when(delegate.fetchByDocument("87654321")).thenThrow(open);
+        when(delegate.fetchByDocuments(Set.of("87654321"))).thenThrow(open);
+
+        assertThat(adapter.getEmployeeByDocument("12345678")).containsEntry("employeeCode", "EMP001");
+        assertThat(adapter.getEmployeeByDocument("87654321")).isNull();
+        assertThat(adapter.getEmployeesByDocuments(List.of("12345678", "87654321"))).containsOnlyKeys("12345678");
+    }
+
+    @Test
+    @DisplayName("getEmployeesByDocuments - Sólo consulta en bloque los documentos no cacheados")
+    void testBatchLookupOnlyFetchesMissingDocuments() {
+        when(delegate.fetchByDocument("12345678")).thenReturn(Optional.of(employee));
+        when(delegate.fetchByDocuments(Set.of("99999999"))).thenReturn(Map.of());
+
+        adapter.getEmployeeByDocument("12345678");
+        Map<String, Map<String, Object>> result = adapter.getEmployeesByDocuments(List.of("12345678", "99999999"));
+
+        assertThat(result).containsOnlyKeys("12345678");
+        assertThat(adapter.getEmployeesByDocuments(List.of("99999999"))).isEmpty();
+        verify(delegate, times(1)).fetchByDocuments(anyCollection());
+    }
+}
@@ -0,0 +1,96 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.employee;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("EmployeeServiceGuard - Circuit breaker y bulkhead de employee-service")
+class EmployeeServiceGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeServiceGuard guard;
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Ventana de 4 llamadas, 50% de fallos abre el circuito, una llamada concurrente
+        guard = new EmployeeServiceGuard(meterRegistry, 50, Duration.ofSeconds(1), 50, 4, 4,
+                Duration.ofMinutes(1), 1, 1);
+    }
+
+    private Object failingCall() {
+        remoteCalls.incrementAndGet();
+        throw new ResourceAccessException("Read timed out");
+    }
+
+    @Test
+    @DisplayName("Tras varios fallos el circuito se abre y las llamadas fallan sin tocar la red")
+    void testOpensAfterFailuresAndFailsFast() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.call(this::failingCall)).isInstanceOf(ResourceAccessException.class);
+        }
+
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> guard.call(this::failingCall))
+                .isInstanceOf(CallNotPermittedException.class)
+                .satisfies(e -> assertThat(EmployeeServiceGuard.isRejection(e)).isTrue());
+        assertThat(remoteCalls).hasValue(4);
+        assertThat(meterRegistry.get("employee_service_circuit_transitions_total")
+                .tag("from", "CLOSED").tag("to", "OPEN").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", EmployeeServiceGuard.NAME).tag("state", "open").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Las respuestas 4xx no abren el circuito")
+    void testClientErrorsDoNotOpenCircuit() {
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> guard.call(() -> {
+                throw HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null);
+            })).isInstanceOf(HttpClientErrorException.class);
+        }
+
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Con el bulkhead lleno la llamada se rechaza de inmediato")
+    void testBulkheadRejectsWithoutWaiting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> guard.call(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "ok";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> guard.call(() -> "no debería ejecutarse")).isInstanceOf(BulkheadFullException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,142 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.employee;
+
+import com.accesscontrol.accesscontrol.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(classes = {RestTemplateConfig.class, RestEmployeeAdapter.class, EmployeeServiceGuard.class,
+        RestEmployeeAdapterHttpClientTest.Metrics.class},
+        properties = "http.client.read-timeout=300ms")
+@ImportAutoConfiguration(RestTemplateAutoConfiguration.class)
+@DisplayName("RestEmployeeAdapter - Cliente HTTP con pool y timeouts")
+class RestEmployeeAdapterHttpClientTest {
+
+    @Configuration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private static HttpServer server;
+
+    @Autowired
+    private RestEmployeeAdapter adapter;
+
+    @Autowired
+    private EmployeeServiceGuard guard;
+
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/employee/document/12345678", exchange -> {
+            byte[] body = "{\"document\":\"12345678\",\"employeeCode\":\"EMP001\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/employee/document/99999999", exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        // Así respondía employee-service a un documento inexistente antes de devolver 404
+        server.createContext("/employee/document/00000000", exchange ->
+                sendError(exchange, "{\"error\":\"Internal server error\",\"message\":\"Employee not found\"}"));
+        server.createContext("/employee/document/55555555", exchange ->
+                sendError(exchange, "{\"error\":\"Internal server error\",\"message\":\"Deadlock found\"}"));
+        // Un hilo por petición: la respuesta lenta no bloquea a las demás
+        server.setExecutor(command -> new Thread(command).start());
+        server.start();
+    }
+
+    private static void sendError(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(500, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void employeeServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("employee.service.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @Test
+    @DisplayName("Consultas seguidas reutilizan la conexión del pool")
+    void testConnectionIsReused() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(adapter.fetchByDocument("12345678")).hasValueSatisfying(
+                    employee -> assertThat(employee).containsEntry("employeeCode", "EMP001"));
+        }
+
+        assertThat(connectionManager.getTotalStats().getLeased()).isZero();
+        assertThat(connectionManager.getTotalStats().getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Un employee-service que no responde falla dentro del timeout de lectura")
+    void testSlowResponseTimesOut() {
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> adapter.fetchByDocument("99999999"))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(adapter.getEmployeeByDocument("99999999")).isNull();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_500));
+        assertThat(connectionManager.getTotalStats().getLeased()).isZero();
+    }
+
+    @Test
+    @DisplayName("Un 500 que dice que el empleado no existe es un empleado inexistente y no abre el circuito")
+    void testNotFoundServerErrorsDoNotOpenCircuit() {
+        // Más llamadas que minimum-calls (10): si contaran como fallo el circuito se abriría
+        for (int i = 0; i < 15; i++) {
+            assertThat(adapter.fetchByDocument("00000000")).isEmpty();
+        }
+
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThatThrownBy(() -> adapter.fetchByDocument("55555555"))
+                .isInstanceOf(HttpServerErrorException.class);
+    }
+}
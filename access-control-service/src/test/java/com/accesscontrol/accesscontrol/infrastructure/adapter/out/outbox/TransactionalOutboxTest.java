@@ -0,0 +1,186 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.outbox;
+
+import com.accesscontrol.accesscontrol.AccessControlServiceApplication;
+import com.accesscontrol.accesscontrol.application.usecase.RegisterAccessUseCase;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.service.AccessValidationService;
+import com.accesscontrol.accesscontrol.exception.AccessValidationException;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.alert.OutboxAlertAdapter;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.lock.StripedEmployeeLockAdapter;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.AccessRecordRepositoryAdapter;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.DailyAttendanceRepositoryAdapter;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.presence.InMemoryPresenceStateAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Sin transacción de prueba: lo que se verifica es qué queda confirmado en outbox_event
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "access.outbox.relay.initial-delay=3600000",
+        "access.outbox.relay.batch-size=2",
+        "access.outbox.relay.max-batches-per-run=2"
+})
+@ContextConfiguration(classes = AccessControlServiceApplication.class)
+@Import({RegisterAccessUseCase.class, AccessValidationService.class, AccessRecordRepositoryAdapter.class,
+        DailyAttendanceRepositoryAdapter.class, AccessRecordMapper.class, InMemoryPresenceStateAdapter.class,
+        StripedEmployeeLockAdapter.class, OutboxAlertAdapter.class, OutboxWriter.class, OutboxRelay.class,
+        TransactionalOutboxTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Outbox transaccional - Alertas")
+class TransactionalOutboxTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private RegisterAccessUseCase registerAccessUseCase;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+
+    @BeforeEach
+    void setUp() {
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+    }
+
+    // La presencia en memoria sobrevive entre pruebas: cada prueba usa su propio empleado
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM outbox_event");
+        jdbcTemplate.update("DELETE FROM daily_attendance");
+        jdbcTemplate.update("DELETE FROM access");
+    }
+
+    private List<String> pendingEventTypes() {
+        return jdbcTemplate.queryForList("SELECT event_type FROM outbox_event ORDER BY id", String.class);
+    }
+
+    private double outboxDepth() {
+        return meterRegistry.get("access_outbox_depth").gauge().value();
+    }
+
+    @Test
+    @DisplayName("El acceso rechazado confirma su alerta sin tocar el broker; el aceptado no escribe en el outbox")
+    void testEventsAreWrittenWithTheCheckIn() {
+        assertThatThrownBy(() -> registerAccessUseCase.execute(new AccessRecord("22345678", AccessRecord.AccessType.EXIT)))
+                .isInstanceOf(AccessValidationException.class);
+        registerAccessUseCase.execute(new AccessRecord("22345678", AccessRecord.AccessType.ENTRY));
+
+        assertThat(pendingEventTypes()).containsExactly(OutboxWriter.EVENT_ALERT);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM access", Integer.class)).isEqualTo(1);
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    @DisplayName("El relay publica en orden con una confirmación por lote y borra lo confirmado")
+    void testRelayPublishesAndDeletes() {
+        assertThatThrownBy(() -> registerAccessUseCase.execute(new AccessRecord("32345678", AccessRecord.AccessType.EXIT)))
+                .isInstanceOf(AccessValidationException.class);
+        registerAccessUseCase.execute(new AccessRecord("32345678", AccessRecord.AccessType.ENTRY));
+
+        relay.relay();
+
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        verify(operations).send(eq(""), eq("alert.queue"), messages.capture());
+        verify(operations, times(1)).send(anyString(), anyString(), any(Message.class));
+        verify(operations, times(1)).waitForConfirmsOrDie(anyLong());
+
+        Message alert = messages.getAllValues().get(0);
+        assertThat(new String(alert.getBody(), StandardCharsets.UTF_8))
+                .contains("\"schemaVersion\":1", "\"code\":\"EMPLOYEE_ALREADY_LEFT\"");
+        assertThat(alert.getMessageProperties().getMessageId()).startsWith("outbox-");
+        assertThat(alert.getMessageProperties().getHeaders()).containsEntry("__TypeId__", "alert.v1");
+        assertThat(pendingEventTypes()).isEmpty();
+        assertThat(outboxDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("Las filas sin consumidor que quedaron de versiones anteriores se borran sin publicarse")
+    void testLegacyEventsAreDiscarded() {
+        jdbcTemplate.update("INSERT INTO outbox_event (id, event_type, exchange_name, routing_key, payload, created_at) "
+                + "VALUES (900000000, 'ACCESS_REGISTERED', 'access.events', 'access.registered', '[]', CURRENT_TIMESTAMP)");
+
+        relay.relay();
+
+        verifyNoInteractions(rabbitTemplate);
+        assertThat(pendingEventTypes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("La profundidad cuenta todo lo pendiente aunque supere un lote")
+    void testDepthReportsTheWholeBacklog() {
+        for (long id = 900000001; id <= 900000007; id++) {
+            jdbcTemplate.update("INSERT INTO outbox_event (id, event_type, exchange_name, routing_key, payload, created_at) "
+                    + "VALUES (?, 'ALERT', '', 'alert.queue', '{\"code\":\"EMPLOYEE_ALREADY_LEFT\"}', CURRENT_TIMESTAMP)", id);
+        }
+
+        // Dos lotes de dos por ciclo: quedan tres de los siete
+        relay.relay();
+
+        verify(operations, times(4)).send(anyString(), anyString(), any(Message.class));
+        assertThat(pendingEventTypes()).hasSize(3);
+        assertThat(outboxDepth()).isEqualTo(3.0);
+
+        relay.relay();
+
+        assertThat(pendingEventTypes()).isEmpty();
+        assertThat(outboxDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("Si el broker no confirma, los eventos quedan para el próximo ciclo")
+    void testUnconfirmedBatchStaysInOutbox() {
+        doThrow(new AmqpTimeoutException("sin confirmación")).when(operations).waitForConfirmsOrDie(anyLong());
+        assertThatThrownBy(() -> registerAccessUseCase.execute(new AccessRecord("12345678", AccessRecord.AccessType.EXIT)))
+                .isInstanceOf(AccessValidationException.class);
+
+        relay.relay();
+
+        assertThat(pendingEventTypes()).containsExactly(OutboxWriter.EVENT_ALERT);
+        assertThat(outboxDepth()).isEqualTo(1.0);
+    }
+}
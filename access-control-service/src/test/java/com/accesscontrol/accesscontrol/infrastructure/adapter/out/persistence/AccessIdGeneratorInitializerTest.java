@@ -0,0 +1,92 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence;
+
+import com.accesscontrol.accesscontrol.AccessControlServiceApplication;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.AccessRecordJpaRepository;
+import com.accesscontrol.accesscontrol.model.AccessRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.accesscontrol.accesscontrol.model.AccessRecord.ID_GENERATOR_NAME;
+import static com.accesscontrol.accesscontrol.model.AccessRecord.ID_GENERATOR_TABLE;
+import static org.assertj.core.api.Assertions.*;
+
+// Sin transacción de prueba: el generador reserva ids en su propia transacción sobre la misma tabla
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ContextConfiguration(classes = AccessControlServiceApplication.class)
+@Import(AccessIdGeneratorInitializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("AccessIdGeneratorInitializer - Migración desde ids IDENTITY")
+class AccessIdGeneratorInitializerTest {
+
+    @Autowired
+    private AccessIdGeneratorInitializer initializer;
+
+    @Autowired
+    private AccessRecordJpaRepository jpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM access");
+    }
+
+    private void insertLegacyRow(long id) {
+        jdbcTemplate.update("INSERT INTO access (id, employeeID, accessdatetime, access_type, access_timestamp, status) "
+                + "VALUES (?, '12345678', '2024-03-15 08:00:00', 'EXIT', TIMESTAMP '2024-03-15 08:00:00', 'SUCCESS')", id);
+    }
+
+    private long nextVal() {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM " + ID_GENERATOR_TABLE + " WHERE sequence_name = ?",
+                Long.class, ID_GENERATOR_NAME);
+    }
+
+    private AccessRecord entry() {
+        AccessRecord record = new AccessRecord();
+        record.setEmployeeID("12345678");
+        record.setAccessType(AccessRecord.AccessType.ENTRY);
+        record.setStatus(AccessRecord.AccessStatus.SUCCESS);
+        return record;
+    }
+
+    @Test
+    @DisplayName("Los ids reservados después de alinear quedan por encima de los existentes")
+    void testGeneratedIdsStartAboveExistingRows() {
+        // Fila heredada de la época AUTO_INCREMENT
+        insertLegacyRow(10000);
+
+        initializer.alignWithExistingIds();
+        initializer.alignWithExistingIds();
+
+        AccessRecord first = jpaRepository.save(entry());
+        AccessRecord second = jpaRepository.save(entry());
+
+        assertThat(first.getId()).isGreaterThan(10000L);
+        assertThat(second.getId()).isGreaterThan(first.getId());
+    }
+
+    @Test
+    @DisplayName("Con la fila del generador ya creada sólo la adelanta, nunca la retrocede")
+    void testExistingGeneratorRowOnlyMovesForward() {
+        insertLegacyRow(20000);
+        initializer.alignWithExistingIds();
+        long aligned = nextVal();
+        assertThat(aligned).isGreaterThan(20000L);
+
+        // Otra instancia ya avanzó el generador: volver a alinear no lo toca
+        jdbcTemplate.update("UPDATE " + ID_GENERATOR_TABLE + " SET next_val = ? WHERE sequence_name = ?",
+                aligned + 5000, ID_GENERATOR_NAME);
+        initializer.alignWithExistingIds();
+
+        assertThat(nextVal()).isEqualTo(aligned + 5000);
+    }
+}
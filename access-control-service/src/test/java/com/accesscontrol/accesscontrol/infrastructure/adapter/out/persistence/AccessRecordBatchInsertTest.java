@@ -0,0 +1,76 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence;
+
+import com.accesscontrol.accesscontrol.AccessControlServiceApplication;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.DailyAttendance;
+import com.accesscontrol.accesscontrol.domain.port.out.PresenceStatePort;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.outbox.OutboxWriter;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ContextConfiguration(classes = AccessControlServiceApplication.class)
+@Import({AccessRecordRepositoryAdapter.class, OutboxWriter.class, DailyAttendanceRepositoryAdapter.class, AccessRecordMapper.class})
+@DisplayName("AccessRecordRepositoryAdapter - Inserción por lotes")
+class AccessRecordBatchInsertTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    @Autowired
+    private AccessRecordRepositoryAdapter adapter;
+
+    @Autowired
+    private DailyAttendanceRepositoryAdapter dailyAttendanceAdapter;
+
+    @MockBean
+    private PresenceStatePort presenceStatePort;
+
+    private AccessRecord access(String employeeID, AccessRecord.AccessType type, int hour) {
+        AccessRecord record = new AccessRecord(employeeID, type);
+        record.setAccessTimestamp(DAY.atTime(hour, 0));
+        record.setAccessdatetime(null);
+        return record;
+    }
+
+    @Test
+    @DisplayName("saveAll - Devuelve los ids generados en el orden del lote y completa los valores por defecto")
+    void testSaveAllReturnsIdsInOrder() {
+        List<AccessRecord> saved = adapter.saveAll(List.of(
+                access("111", AccessRecord.AccessType.ENTRY, 8),
+                access("222", AccessRecord.AccessType.ENTRY, 9),
+                access("111", AccessRecord.AccessType.EXIT, 12)));
+
+        assertThat(saved).extracting(AccessRecord::getId).doesNotContainNull().isSorted().doesNotHaveDuplicates();
+        assertThat(saved).extracting(AccessRecord::getEmployeeID).containsExactly("111", "222", "111");
+        assertThat(saved.get(2).getAccessdatetime()).isEqualTo("2024-03-15 12:00:00");
+        assertThat(adapter.findById(saved.get(1).getId())).get()
+                .extracting(AccessRecord::getEmployeeID).isEqualTo("222");
+    }
+
+    @Test
+    @DisplayName("saveAll - Aplica el lote a la asistencia diaria en la misma transacción")
+    void testSaveAllUpdatesDailyAttendance() {
+        adapter.saveAll(List.of(
+                access("111", AccessRecord.AccessType.ENTRY, 8),
+                access("111", AccessRecord.AccessType.EXIT, 12),
+                access("111", AccessRecord.AccessType.ENTRY, 13),
+                access("111", AccessRecord.AccessType.EXIT, 17)));
+
+        List<DailyAttendance> attendances = dailyAttendanceAdapter.findByDate(DAY);
+        assertThat(attendances).hasSize(1);
+        assertThat(attendances.get(0).getEntryCount()).isEqualTo(2);
+        assertThat(attendances.get(0).getTotalDuration()).isEqualTo(Duration.ofHours(8));
+    }
+}
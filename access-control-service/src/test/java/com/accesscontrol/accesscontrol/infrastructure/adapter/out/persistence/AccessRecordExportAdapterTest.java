@@ -0,0 +1,117 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence;
+
+import com.accesscontrol.accesscontrol.AccessControlServiceApplication;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.AccessRecordJpaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ContextConfiguration(classes = AccessControlServiceApplication.class)
+@DisplayName("AccessRecordExportAdapter - Lectura JDBC para exportación y reporte por rango")
+class AccessRecordExportAdapterTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 15, 8, 0);
+
+    @Autowired
+    private AccessRecordJpaRepository jpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private AccessRecordExportAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new AccessRecordExportAdapter(dataSource);
+    }
+
+    private void seed(LocalDateTime... timestamps) {
+        for (LocalDateTime timestamp : timestamps) {
+            com.accesscontrol.accesscontrol.model.AccessRecord record = new com.accesscontrol.accesscontrol.model.AccessRecord();
+            record.setEmployeeID("12345678");
+            record.setEmployeeCode("EMP001");
+            record.setAccessdatetime(timestamp.toString());
+            record.setAccessType(com.accesscontrol.accesscontrol.model.AccessRecord.AccessType.EXIT);
+            record.setStatus(com.accesscontrol.accesscontrol.model.AccessRecord.AccessStatus.SUCCESS);
+            record.setAccessTimestamp(timestamp);
+            record.setLocation("Sede Norte");
+            record.setDeviceId("DEV-1");
+            jpaRepository.save(record);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("forEachRecord - Sin rango entrega todas las filas con todos los campos")
+    void testAllRecords() {
+        seed(BASE.plusHours(2), BASE, BASE.plusHours(1));
+        List<AccessRecord> exported = new ArrayList<>();
+
+        long count = adapter.forEachRecord(null, null, exported::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(exported).extracting(AccessRecord::getId).isSorted();
+        AccessRecord first = exported.get(0);
+        assertThat(first.getEmployeeID()).isEqualTo("12345678");
+        assertThat(first.getEmployeeCode()).isEqualTo("EMP001");
+        assertThat(first.getAccessType()).isEqualTo(AccessRecord.AccessType.EXIT);
+        assertThat(first.getStatus()).isEqualTo(AccessRecord.AccessStatus.SUCCESS);
+        assertThat(first.getAccessTimestamp()).isEqualTo(BASE.plusHours(2));
+        assertThat(first.getLocation()).isEqualTo("Sede Norte");
+        assertThat(first.getDeviceId()).isEqualTo("DEV-1");
+    }
+
+    @Test
+    @DisplayName("forEachRecord - Con rango filtra y ordena por fecha")
+    void testDateRange() {
+        seed(BASE.plusHours(2), BASE, BASE.plusDays(1), BASE.plusHours(1));
+        List<AccessRecord> exported = new ArrayList<>();
+
+        long count = adapter.forEachRecord(BASE, BASE.plusHours(2), exported::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(exported).extracting(AccessRecord::getAccessTimestamp)
+                .containsExactly(BASE, BASE.plusHours(1), BASE.plusHours(2));
+    }
+
+    @Test
+    @DisplayName("forEachByEmployeeIDAndDateRange / CodeAndDateRange - Sólo el empleado y el rango, en orden")
+    void testEmployeeDateRange() {
+        seed(BASE.plusHours(2), BASE, BASE.plusDays(1), BASE.plusHours(1));
+        com.accesscontrol.accesscontrol.model.AccessRecord other = new com.accesscontrol.accesscontrol.model.AccessRecord();
+        other.setEmployeeID("87654321");
+        other.setEmployeeCode("EMP002");
+        other.setAccessType(com.accesscontrol.accesscontrol.model.AccessRecord.AccessType.ENTRY);
+        other.setStatus(com.accesscontrol.accesscontrol.model.AccessRecord.AccessStatus.SUCCESS);
+        other.setAccessTimestamp(BASE.plusMinutes(30));
+        jpaRepository.saveAndFlush(other);
+        List<AccessRecord> byDocument = new ArrayList<>();
+        List<AccessRecord> byCode = new ArrayList<>();
+
+        long documentCount = adapter.forEachByEmployeeIDAndDateRange("12345678", BASE, BASE.plusHours(2), byDocument::add);
+        long codeCount = adapter.forEachByEmployeeCodeAndDateRange("EMP001", BASE, BASE.plusHours(2), byCode::add);
+
+        assertThat(documentCount).isEqualTo(3);
+        assertThat(codeCount).isEqualTo(3);
+        assertThat(byDocument).extracting(AccessRecord::getAccessTimestamp)
+                .containsExactly(BASE, BASE.plusHours(1), BASE.plusHours(2));
+        assertThat(byCode).extracting(AccessRecord::getEmployeeID).containsOnly("12345678");
+    }
+}
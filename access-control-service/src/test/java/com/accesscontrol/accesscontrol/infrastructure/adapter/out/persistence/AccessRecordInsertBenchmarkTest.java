@@ -0,0 +1,131 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence;
+
+import com.accesscontrol.accesscontrol.AccessControlServiceApplication;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.port.out.PresenceStatePort;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.outbox.OutboxWriter;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Filas por segundo al insertar accesos en MySQL: una fila por transacción (camino de
+ * /usercheckin) contra saveAll con INSERT agrupados (camino de /access/batch).
+ *
+ * Necesita Docker y se ejecuta a pedido:
+ * mvn test -Dtest=AccessRecordInsertBenchmarkTest -Dbenchmark=true
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = "access.presence.warmup-enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = AccessControlServiceApplication.class)
+@Import({AccessRecordRepositoryAdapter.class, OutboxWriter.class, DailyAttendanceRepositoryAdapter.class,
+        AccessRecordMapper.class, AccessIdGeneratorInitializer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Benchmark - Inserción de accesos en MySQL")
+class AccessRecordInsertBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessRecordInsertBenchmarkTest.class);
+
+    private static final int SINGLE_ROWS = 2_000;
+    private static final int BATCH_ROWS = 20_000;
+    private static final int REQUEST_SIZE = 1_000;
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withUrlParam("rewriteBatchedStatements", "true");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private AccessRecordRepositoryAdapter adapter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PresenceStatePort presenceStatePort;
+
+    private List<AccessRecord> records(int count, int offset) {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 15, 0, 0);
+        List<AccessRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int employee = offset + i / 2;
+            AccessRecord record = new AccessRecord(String.valueOf(10_000_000 + employee),
+                    i % 2 == 0 ? AccessRecord.AccessType.ENTRY : AccessRecord.AccessType.EXIT);
+            record.setEmployeeCode("EMP" + employee);
+            record.setAccessTimestamp(start.plusSeconds(i));
+            record.setAccessdatetime(null);
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    @DisplayName("saveAll supera en filas por segundo al guardado fila por fila")
+    void compareRowsPerSecond() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Calentamiento: JIT, pool de conexiones y primer bloque de ids
+        transaction.executeWithoutResult(status -> adapter.saveAll(records(REQUEST_SIZE, 1_000_000)));
+
+        List<AccessRecord> single = records(SINGLE_ROWS, 0);
+        long singleStart = System.nanoTime();
+        for (AccessRecord record : single) {
+            transaction.executeWithoutResult(status -> adapter.save(record));
+        }
+        double singleRate = SINGLE_ROWS / ((System.nanoTime() - singleStart) / 1e9);
+
+        List<AccessRecord> batch = records(BATCH_ROWS, SINGLE_ROWS);
+        long batchStart = System.nanoTime();
+        for (int from = 0; from < BATCH_ROWS; from += REQUEST_SIZE) {
+            List<AccessRecord> request = batch.subList(from, Math.min(from + REQUEST_SIZE, BATCH_ROWS));
+            transaction.executeWithoutResult(status -> adapter.saveAll(request));
+        }
+        double batchRate = BATCH_ROWS / ((System.nanoTime() - batchStart) / 1e9);
+
+        logger.info("Fila por fila: {} filas/s | saveAll en lotes de {}: {} filas/s (x{})",
+                Math.round(singleRate), REQUEST_SIZE, Math.round(batchRate), String.format("%.1f", batchRate / singleRate));
+
+        Long stored = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM access", Long.class);
+        assertThat(stored).isEqualTo((long) REQUEST_SIZE + SINGLE_ROWS + BATCH_ROWS);
+        assertThat(batchRate)
+                .as("saveAll: %.0f filas/s, fila por fila: %.0f filas/s", batchRate, singleRate)
+                .isGreaterThan(singleRate);
+    }
+}
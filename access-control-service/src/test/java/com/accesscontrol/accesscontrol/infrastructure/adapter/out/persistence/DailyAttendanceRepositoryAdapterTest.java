@@ -0,0 +1,172 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence;
+
+import com.accesscontrol.accesscontrol.AccessControlServiceApplication;
+import com.accesscontrol.accesscontrol.domain.model.AccessRecord;
+import com.accesscontrol.accesscontrol.domain.model.DailyAttendance;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.AccessRecordJpaRepository;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.DailyAttendanceJpaRepository;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.mapper.AccessRecordMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ContextConfiguration(classes = AccessControlServiceApplication.class)
+@Import({DailyAttendanceRepositoryAdapter.class, AccessRecordMapper.class})
+@DisplayName("DailyAttendanceRepositoryAdapter - Proyección de asistencia diaria")
+class DailyAttendanceRepositoryAdapterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    @Autowired
+    private DailyAttendanceRepositoryAdapter adapter;
+
+    @Autowired
+    private AccessRecordJpaRepository accessRecordJpaRepository;
+
+    @Autowired
+    private AccessRecordMapper mapper;
+
+    @Autowired
+    private DailyAttendanceJpaRepository dailyAttendanceJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AccessRecord access(AccessRecord.AccessType type, LocalDateTime timestamp) {
+        AccessRecord record = new AccessRecord("12345678", type);
+        record.setEmployeeCode("EMP001");
+        record.setAccessTimestamp(timestamp);
+        return record;
+    }
+
+    @Test
+    @DisplayName("apply - Primer ingreso, última salida y tiempo total en sitio")
+    void testEntriesAndExitsAreFolded() {
+        adapter.apply(access(AccessRecord.AccessType.ENTRY, DAY.atTime(8, 0)));
+        adapter.apply(access(AccessRecord.AccessType.EXIT, DAY.atTime(12, 0)));
+        adapter.apply(access(AccessRecord.AccessType.ENTRY, DAY.atTime(13, 0)));
+        adapter.apply(access(AccessRecord.AccessType.EXIT, DAY.atTime(17, 30)));
+
+        List<DailyAttendance> attendances = adapter.findByDate(DAY);
+
+        assertThat(attendances).hasSize(1);
+        DailyAttendance attendance = attendances.get(0);
+        assertThat(attendance.getEmployeeCode()).isEqualTo("EMP001");
+        assertThat(attendance.getFirstEntry()).isEqualTo(DAY.atTime(8, 0));
+        assertThat(attendance.getLastExit()).isEqualTo(DAY.atTime(17, 30));
+        assertThat(attendance.getEntryCount()).isEqualTo(2);
+        assertThat(attendance.getTotalDuration()).isEqualTo(Duration.ofMinutes(8 * 60 + 30));
+        assertThat(attendance.hasOpenEntry()).isFalse();
+    }
+
+    @Test
+    @DisplayName("apply - Un turno nocturno suma su tiempo al día del ingreso")
+    void testOvernightShiftAccruesToEntryDay() {
+        adapter.apply(access(AccessRecord.AccessType.ENTRY, DAY.atTime(22, 0)));
+        adapter.apply(access(AccessRecord.AccessType.EXIT, DAY.plusDays(1).atTime(6, 0)));
+
+        assertThat(adapter.findByDate(DAY).get(0).getTotalDuration()).isEqualTo(Duration.ofHours(8));
+        DailyAttendance nextDay = adapter.findByDate(DAY.plusDays(1)).get(0);
+        assertThat(nextDay.getEntryCount()).isZero();
+        assertThat(nextDay.getLastExit()).isEqualTo(DAY.plusDays(1).atTime(6, 0));
+    }
+
+    @Test
+    @DisplayName("rebuild - Reconstruye el día desde la tabla access")
+    void testRebuildFromAccessTable() {
+        accessRecordJpaRepository.save(mapper.toJpaEntity(access(AccessRecord.AccessType.ENTRY, DAY.atTime(9, 0))));
+        accessRecordJpaRepository.save(mapper.toJpaEntity(access(AccessRecord.AccessType.EXIT, DAY.atTime(10, 15))));
+
+        assertThat(adapter.rebuild(DAY)).isEqualTo(2);
+        assertThat(adapter.rebuild(DAY)).isEqualTo(2);
+
+        List<DailyAttendance> attendances = adapter.findByDate(DAY);
+        assertThat(attendances).hasSize(1);
+        assertThat(attendances.get(0).getTotalDuration()).isEqualTo(Duration.ofMinutes(75));
+    }
+
+    @Test
+    @DisplayName("rebuild - La salida de la madrugada siguiente cierra el turno nocturno")
+    void testRebuildPairsOvernightExit() {
+        accessRecordJpaRepository.save(mapper.toJpaEntity(access(AccessRecord.AccessType.ENTRY, DAY.atTime(22, 0))));
+        accessRecordJpaRepository.save(mapper.toJpaEntity(access(AccessRecord.AccessType.EXIT, DAY.plusDays(1).atTime(6, 0))));
+
+        assertThat(adapter.rebuild(DAY)).isEqualTo(1);
+
+        DailyAttendance attendance = adapter.findByDate(DAY).get(0);
+        assertThat(attendance.hasOpenEntry()).isFalse();
+        assertThat(attendance.getTotalDuration()).isEqualTo(Duration.ofHours(8));
+        assertThat(adapter.findByDate(DAY.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("rebuild - Si el día siguiente empieza con un ingreso el turno queda abierto")
+    void testRebuildKeepsOpenEntryWithoutNextDayExit() {
+        accessRecordJpaRepository.save(mapper.toJpaEntity(access(AccessRecord.AccessType.ENTRY, DAY.atTime(22, 0))));
+        accessRecordJpaRepository.save(mapper.toJpaEntity(access(AccessRecord.AccessType.ENTRY, DAY.plusDays(1).atTime(8, 0))));
+
+        adapter.rebuild(DAY);
+
+        assertThat(adapter.findByDate(DAY).get(0).getOpenEntry()).isEqualTo(DAY.atTime(22, 0));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("apply - Dos transacciones crean a la vez la fila del día sin violar la clave única")
+    void testConcurrentFirstAccessOfTheDay() throws Exception {
+        LocalDate day = DAY.plusDays(10);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstInserted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        try {
+            // La primera transacción crea la fila y no confirma hasta que la segunda ya intentó crearla
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+                adapter.apply(access(AccessRecord.AccessType.ENTRY, day.atTime(8, 0)));
+                firstInserted.countDown();
+                await(releaseFirst);
+            }));
+            assertThat(firstInserted.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Void> second = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status ->
+                    adapter.apply(access(AccessRecord.AccessType.EXIT, day.atTime(12, 0)))));
+            Thread.sleep(200);
+            releaseFirst.countDown();
+
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+
+            List<DailyAttendance> attendances = adapter.findByDate(day);
+            assertThat(attendances).hasSize(1);
+            assertThat(attendances.get(0).getEntryCount()).isEqualTo(1);
+            assertThat(attendances.get(0).getTotalDuration()).isEqualTo(Duration.ofHours(4));
+        } finally {
+            releaseFirst.countDown();
+            transaction.executeWithoutResult(status -> dailyAttendanceJpaRepository.deleteByAttendanceDate(day));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
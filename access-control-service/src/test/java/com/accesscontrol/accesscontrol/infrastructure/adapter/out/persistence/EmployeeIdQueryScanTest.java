@@ -0,0 +1,118 @@
+package com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence;
+
+import com.accesscontrol.accesscontrol.AccessControlServiceApplication;
+import com.accesscontrol.accesscontrol.domain.model.AccessCursor;
+import com.accesscontrol.accesscontrol.infrastructure.adapter.out.persistence.jpa.AccessRecordJpaRepository;
+import com.accesscontrol.accesscontrol.model.AccessRecord;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Regresión de costo: las páginas por employeeId que ejecuta el adaptador (keyset sobre
+ * accessTimestamp, id) deben leer sólo las filas del empleado (vía idx_access_employee_id_ts)
+ * sin importar cuántas filas tenga la tabla. Se mide con el
+ * scanCount que reporta EXPLAIN ANALYZE de H2.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ContextConfiguration(classes = AccessControlServiceApplication.class)
+@DisplayName("AccessRecordJpaRepository - Consultas por employeeId indexadas")
+class EmployeeIdQueryScanTest {
+
+    private static final long EMPLOYEE_ID = 7L;
+    private static final int EMPLOYEE_RECORDS = 20;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 8, 0);
+    private static final int PAGE_SIZE = 50;
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Autowired
+    private AccessRecordJpaRepository jpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private void seed(int otherEmployeesRecords) {
+        List<AccessRecord> records = new ArrayList<>();
+        for (int i = 0; i < otherEmployeesRecords; i++) {
+            records.add(record(1000L + (i % 500), BASE.plusMinutes(i)));
+        }
+        for (int i = 0; i < EMPLOYEE_RECORDS; i++) {
+            records.add(record(EMPLOYEE_ID, BASE.plusHours(i)));
+        }
+        jpaRepository.saveAll(records);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private AccessRecord record(Long employeeId, LocalDateTime timestamp) {
+        AccessRecord record = new AccessRecord();
+        record.setEmployeeID("DOC" + employeeId);
+        record.setEmployeeId(employeeId);
+        record.setAccessType(AccessRecord.AccessType.ENTRY);
+        record.setStatus(AccessRecord.AccessStatus.SUCCESS);
+        record.setAccessTimestamp(timestamp);
+        return record;
+    }
+
+    private String explain(String whereClause) {
+        return String.valueOf(entityManager
+                .createNativeQuery("EXPLAIN ANALYZE SELECT * FROM access WHERE " + whereClause)
+                .getSingleResult());
+    }
+
+    private long scanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertThat(matcher.find()).as("scanCount en el plan: %s", plan).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private long[] measure(int otherEmployeesRecords) {
+        seed(otherEmployeesRecords);
+
+        AccessCursor start = AccessCursor.START;
+        assertThat(jpaRepository.findPageByEmployeeIdAfter(EMPLOYEE_ID,
+                start.getAccessTimestamp(), start.getId(), PageRequest.of(0, PAGE_SIZE)))
+                .hasSize(EMPLOYEE_RECORDS);
+        assertThat(jpaRepository.findPageByEmployeeIdAndDateRangeAfter(EMPLOYEE_ID, BASE, BASE.plusHours(4),
+                start.getAccessTimestamp(), start.getId(), PageRequest.of(0, PAGE_SIZE)))
+                .hasSize(5);
+
+        // Mismo SQL que generan las consultas de página: cursor inicial, orden y límite
+        String afterStart = " AND (access_timestamp > TIMESTAMP '1000-01-01 00:00:00'"
+                + " OR (access_timestamp = TIMESTAMP '1000-01-01 00:00:00' AND id > 0))"
+                + " ORDER BY access_timestamp, id LIMIT " + PAGE_SIZE;
+        String byEmployee = explain("employee_id = " + EMPLOYEE_ID + afterStart);
+        String byEmployeeAndRange = explain("employee_id = " + EMPLOYEE_ID
+                + " AND access_timestamp BETWEEN TIMESTAMP '2024-03-01 08:00:00' AND TIMESTAMP '2024-03-01 12:00:00'"
+                + afterStart);
+        assertThat(byEmployee).containsIgnoringCase("IDX_ACCESS_EMPLOYEE_ID_TS");
+        assertThat(byEmployeeAndRange).containsIgnoringCase("IDX_ACCESS_EMPLOYEE_ID_TS");
+
+        long[] counts = {scanCount(byEmployee), scanCount(byEmployeeAndRange)};
+        jpaRepository.deleteAllInBatch();
+        return counts;
+    }
+
+    @Test
+    @DisplayName("findPageByEmployeeIdAfter / findPageByEmployeeIdAndDateRangeAfter - Costo constante al crecer la tabla")
+    void testScanCountDoesNotGrowWithTable() {
+        long[] small = measure(1_000);
+        long[] large = measure(10_000);
+
+        assertThat(large).containsExactly(small);
+        assertThat(small[0]).isLessThanOrEqualTo(EMPLOYEE_RECORDS + 1);
+        assertThat(small[1]).isLessThanOrEqualTo(5 + 1);
+    }
+}
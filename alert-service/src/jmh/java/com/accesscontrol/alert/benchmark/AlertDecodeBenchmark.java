@@ -0,0 +1,68 @@
+package com.accesscontrol.alert.benchmark;
+
+import com.accesscontrol.alert.dto.AlertEvent;
+import com.accesscontrol.alert.dto.CreateAlertRequest;
+import com.accesscontrol.alert.listener.AlertEventDecoder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mensajes de alert.queue decodificados por segundo: lector tipado de {@link AlertEventDecoder}
+ * frente al camino anterior (conversor Jackson de Spring AMQP hacia un Map y copia campo a campo).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AlertDecodeBenchmark {
+
+    private static final String BODY = "{\"schemaVersion\":1,\"code\":\"LOGIN_USR_ATTEMPS_EXCEEDED\","
+            + "\"description\":\"Usuario registrado con más de 3 intentos fallidos: ana.perez\","
+            + "\"username\":\"ana.perez\",\"employeeCode\":null,\"ipAddress\":\"10.0.0.7\","
+            + "\"timestamp\":\"2024-03-15T08:00:00.123456\"}";
+
+    private final AlertEventDecoder decoder = new AlertEventDecoder();
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+
+    private Message typedMessage;
+    private Message mapMessage;
+
+    @Setup
+    public void setUp() throws IOException {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setHeader("__TypeId__", AlertEvent.TYPE_ID);
+        typedMessage = new Message(BODY.getBytes(StandardCharsets.UTF_8), properties);
+        // Mismo JSON con las cabeceras de tipo que pone convertAndSend al publicar un HashMap
+        HashMap<String, Object> event = new ObjectMapper().readValue(BODY, new TypeReference<HashMap<String, Object>>() {});
+        mapMessage = converter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public AlertEvent typedReader() throws IOException {
+        return decoder.decode(typedMessage);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public CreateAlertRequest legacyConverterMap() {
+        Map<String, Object> event = (Map<String, Object>) converter.fromMessage(mapMessage);
+        CreateAlertRequest request = new CreateAlertRequest();
+        request.setCode((String) event.get("code"));
+        request.setDescription((String) event.get("description"));
+        request.setUsername((String) event.get("username"));
+        request.setEmployeeCode((String) event.get("employeeCode"));
+        request.setIpAddress((String) event.get("ipAddress"));
+        return request;
+    }
+}
@@ -2,8 +2,10 @@ package com.accesscontrol.alert;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AlertServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(AlertServiceApplication.class, args);
@@ -1,12 +1,22 @@
 package com.accesscontrol.alert.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.amqp.core.AmqpAdmin;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.time.Duration;
 
 @Configuration
 public class RabbitMQConfig {
@@ -33,12 +43,44 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory) {
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            Environment environment,
+            @Value("${alert.listener.batch-size:200}") int batchSize,
+            @Value("${alert.listener.receive-timeout:200ms}") Duration receiveTimeout) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(jsonMessageConverter());
+        // El consumidor junta hasta batchSize mensajes (o lo que llegue en receiveTimeout) y los
+        // entrega juntos al listener; con ack automático se confirma el lote completo al terminar
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        factory.setPrefetchCount(Math.max(250, batchSize));
+        // spring.threads.virtual.enabled (Java 21+): los consumidores corren en hilos virtuales
+        if (Threading.VIRTUAL.isActive(environment)) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor("rabbit-listener-"));
+        }
         return factory;
     }
+
+    /**
+     * Mensajes pendientes en alert.queue, consultados al broker en cada scrape
+     */
+    @Bean
+    public MeterBinder alertQueueDepthMetrics(AmqpAdmin amqpAdmin) {
+        return registry -> Gauge.builder("alert_queue_depth", amqpAdmin, admin -> {
+                    try {
+                        QueueInformation info = admin.getQueueInfo(ALERT_QUEUE);
+                        return info != null ? info.getMessageCount() : Double.NaN;
+                    } catch (RuntimeException e) {
+                        return Double.NaN;
+                    }
+                })
+                .description("Messages waiting in alert.queue")
+                .register(registry);
+    }
 }
 
 
@@ -1,17 +1,25 @@
 package com.accesscontrol.alert.controller;
 
 import com.accesscontrol.alert.dto.AlertDTO;
+import com.accesscontrol.alert.dto.AlertPageDTO;
 import com.accesscontrol.alert.dto.CreateAlertRequest;
 import com.accesscontrol.alert.service.AlertService;
+import com.accesscontrol.alert.service.AlertStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/alert")
@@ -20,9 +28,11 @@ import java.util.List;
 public class AlertController {
     
     private final AlertService alertService;
+    private final AlertStream alertStream;
 
-    public AlertController(AlertService alertService) {
+    public AlertController(AlertService alertService, AlertStream alertStream) {
         this.alertService = alertService;
+        this.alertStream = alertStream;
     }
 
     @PostMapping("/create")
@@ -31,6 +41,7 @@ public class AlertController {
         return ResponseEntity.status(HttpStatus.CREATED).body(alert);
     }
 
+    // Listados completos; la consola usa las variantes paginadas (/page)
     @GetMapping("/all")
     public ResponseEntity<List<AlertDTO>> getAllAlerts() {
         List<AlertDTO> alerts = alertService.getAllAlerts();
@@ -49,6 +60,68 @@ public class AlertController {
         return ResponseEntity.ok(alerts);
     }
 
+    @Operation(summary = "Alertas paginadas", description = "De la más reciente a la más vieja, opcionalmente en un rango de fechas; enviar nextCursor como cursor para la página siguiente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de alertas"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    @GetMapping("/page")
+    public ResponseEntity<AlertPageDTO> getAlertsPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AlertService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(alertService.getAlertsPage(startDate, endDate, cursor, size));
+    }
+
+    @Operation(summary = "Alertas por código, paginadas", description = "De la más reciente a la más vieja; enviar nextCursor como cursor para la página siguiente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de alertas"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    @GetMapping("/code/{code}/page")
+    public ResponseEntity<AlertPageDTO> getAlertsByCodePage(
+            @PathVariable String code,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AlertService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(alertService.getAlertsByCodePage(code, cursor, size));
+    }
+
+    @Operation(summary = "Alertas por usuario, paginadas", description = "De la más reciente a la más vieja; enviar nextCursor como cursor para la página siguiente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de alertas"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    @GetMapping("/username/{username}/page")
+    public ResponseEntity<AlertPageDTO> getAlertsByUsernamePage(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AlertService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(alertService.getAlertsByUsernamePage(username, cursor, size));
+    }
+
+    @Operation(summary = "Alertas en vivo", description = "Server-Sent Events: un evento 'alert' por cada alerta nueva registrada desde alert.queue. Los clientes que no consumen a tiempo se desconectan y deben reconectarse")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream abierto"),
+        @ApiResponse(responseCode = "503", description = "Límite de suscriptores alcanzado")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAlerts() {
+        return alertStream.subscribe()
+                // Sin buffering en Nginx: cada evento llega al navegador en cuanto se envía
+                .map(emitter -> ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", ex.getMessage());
+        response.put("error", "BAD_REQUEST");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     // Endpoints según nomenclatura especificada
     @Operation(summary = "Alerta: Usuario no registrado", description = "Registra una alerta cuando un usuario no registrado intenta autenticarse")
     @ApiResponse(responseCode = "201", description = "Alerta creada exitosamente")
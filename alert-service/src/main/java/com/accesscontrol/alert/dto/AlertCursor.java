@@ -0,0 +1,66 @@
+package com.accesscontrol.alert.dto;
+
+import com.accesscontrol.alert.model.Alert;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Cursor de paginación por clave (timestamp, id), de la alerta más reciente a la más vieja
+ *
+ * Una página continúa estrictamente antes de la última alerta de la anterior, así que leer la
+ * página 100 cuesta lo mismo que leer la primera (a diferencia de OFFSET). Para el cliente el
+ * cursor es un token opaco.
+ */
+public final class AlertCursor {
+
+    /**
+     * Posterior a cualquier alerta: primera página. 9999-12-31 23:59:59 es el máximo de DATETIME en MySQL.
+     */
+    public static final AlertCursor LATEST = new AlertCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public AlertCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = Objects.requireNonNull(timestamp, "timestamp");
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    public static AlertCursor before(Alert alert) {
+        return new AlertCursor(alert.getTimestamp(), alert.getId());
+    }
+
+    /**
+     * Decodifica un token generado por {@link #encode()}; nulo o vacío equivale a {@link #LATEST}.
+     */
+    public static AlertCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return LATEST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new AlertCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -10,6 +10,8 @@ public class AlertDTO {
     private String code;
     private String username;
     private String employeeCode;
+    private int occurrences;
+    private String lastSeen;
 
     public AlertDTO() {}
 
@@ -20,6 +22,9 @@ public class AlertDTO {
         this.code = alert.getCode();
         this.username = alert.getUsername();
         this.employeeCode = alert.getEmployeeCode();
+        // Filas anteriores a la supresión por ventana: una sola ocurrencia
+        this.occurrences = alert.getOccurrences() != null ? alert.getOccurrences() : 1;
+        this.lastSeen = alert.getLastSeen() != null ? alert.getLastSeen().toString() : this.timestamp;
     }
 
     // Getters and Setters
@@ -70,6 +75,22 @@ public class AlertDTO {
     public void setEmployeeCode(String employeeCode) {
         this.employeeCode = employeeCode;
     }
+
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(int occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public String getLastSeen() {
+        return lastSeen;
+    }
+
+    public void setLastSeen(String lastSeen) {
+        this.lastSeen = lastSeen;
+    }
 }
 
 
@@ -0,0 +1,81 @@
+package com.accesscontrol.alert.dto;
+
+/**
+ * Evento de alerta recibido por alert.queue, versión 1 del esquema compartido con
+ * access-control-service y login-service (misma clase en cada productor). Los mensajes
+ * viajan con __TypeId__ = {@link #TYPE_ID}. Los mensajes anteriores al esquema (un Map o un
+ * CreateAlertRequest) tienen los mismos campos y se leen como versión 1; cualquier otra versión
+ * se rechaza al decodificar (ver AlertEventDecoder).
+ */
+public class AlertEvent {
+
+    public static final int SCHEMA_VERSION = 1;
+    public static final String TYPE_ID_PREFIX = "alert.v";
+    public static final String TYPE_ID = TYPE_ID_PREFIX + SCHEMA_VERSION;
+
+    private int schemaVersion = SCHEMA_VERSION;
+    private String code;
+    private String description;
+    private String username;
+    private String employeeCode;
+    private String ipAddress;
+    private String timestamp;
+
+    public AlertEvent() {}
+
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public void setSchemaVersion(int schemaVersion) {
+        this.schemaVersion = schemaVersion;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+
+    public void setEmployeeCode(String employeeCode) {
+        this.employeeCode = employeeCode;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,23 @@
+package com.accesscontrol.alert.dto;
+
+/**
+ * Alerta recibida por alert.queue junto con el messageId del mensaje (null si el productor no lo puso)
+ */
+public class ReceivedAlert {
+
+    private final String messageId;
+    private final CreateAlertRequest request;
+
+    public ReceivedAlert(String messageId, CreateAlertRequest request) {
+        this.messageId = messageId;
+        this.request = request;
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public CreateAlertRequest getRequest() {
+        return request;
+    }
+}
@@ -0,0 +1,44 @@
+package com.accesscontrol.alert.listener;
+
+import com.accesscontrol.alert.dto.AlertEvent;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.amqp.core.Message;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Decodifica el cuerpo de un mensaje de alert.queue como {@link AlertEvent}. El lector se
+ * construye una vez y está atado al tipo: no consulta __TypeId__, no pasa por un Map y los
+ * campos se asignan con accesores generados (Blackbird), sin reflexión por mensaje.
+ * Los campos desconocidos se ignoran para aceptar versiones que sólo agregan campos.
+ *
+ * Después de decodificar se comprueba la versión: un schemaVersion distinto de
+ * {@link AlertEvent#SCHEMA_VERSION}, o un __TypeId__ alert.vN de otra versión, se rechaza con
+ * {@link UnsupportedAlertVersionException} en lugar de leerse como versión 1. Los mensajes
+ * anteriores al esquema no traen ninguno de los dos y siguen siendo versión 1.
+ */
+@Component
+public class AlertEventDecoder {
+
+    private static final ObjectReader reader = new ObjectMapper()
+            .registerModule(new BlackbirdModule())
+            .readerFor(AlertEvent.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public AlertEvent decode(Message message) throws IOException {
+        AlertEvent event = reader.readValue(message.getBody());
+        if (event.getSchemaVersion() != AlertEvent.SCHEMA_VERSION) {
+            throw new UnsupportedAlertVersionException("schemaVersion " + event.getSchemaVersion());
+        }
+        Object typeId = message.getMessageProperties().getHeaders().get("__TypeId__");
+        if (typeId instanceof String type && type.startsWith(AlertEvent.TYPE_ID_PREFIX)
+                && !AlertEvent.TYPE_ID.equals(type)) {
+            throw new UnsupportedAlertVersionException("__TypeId__ " + type);
+        }
+        return event;
+    }
+}
@@ -1,50 +1,135 @@
 package com.accesscontrol.alert.listener;
 
+import com.accesscontrol.alert.dto.AlertDTO;
+import com.accesscontrol.alert.dto.AlertEvent;
 import com.accesscontrol.alert.dto.CreateAlertRequest;
+import com.accesscontrol.alert.dto.ReceivedAlert;
 import com.accesscontrol.alert.service.AlertService;
+import com.accesscontrol.alert.service.AlertStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Consume alert.queue por lotes (ver alert.listener.batch-size en RabbitMQConfig). Cada lote
+ * se registra en una sola transacción, con las repeticiones suprimidas por ventana (ver
+ * AlertDeduplicator), y se confirma al broker completo al terminar; si la transacción falla el
+ * lote vuelve a la cola. Cada mensaje se decodifica con el esquema {@link AlertEvent} (ver
+ * {@link AlertEventDecoder}); los ilegibles, los de una versión desconocida y los que la base
+ * rechaza se descartan y se cuentan en alert_listener_discarded_total por motivo. Las alertas creadas se difunden a los clientes de /alert/stream
+ * (ver {@link AlertStream}) una vez confirmadas.
+ */
 @Component
 public class AlertEventListener {
-    
-    @Autowired
-    private AlertService alertService;
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertEventListener.class);
+
+    private final AlertService alertService;
+    private final AlertEventDecoder decoder;
+    private final AlertStream alertStream;
+    private final DistributionSummary batchSize;
+    private final Timer consumerLag;
+    private final Counter discardedUnreadable;
+    private final Counter discardedVersion;
+    private final Counter discardedInvalid;
+
+    public AlertEventListener(AlertService alertService, AlertEventDecoder decoder, AlertStream alertStream,
+                              MeterRegistry meterRegistry) {
+        this.alertService = alertService;
+        this.decoder = decoder;
+        this.alertStream = alertStream;
+        this.batchSize = DistributionSummary.builder("alert_listener_batch_size")
+                .description("Messages delivered to the alert listener per batch")
+                .register(meterRegistry);
+        this.consumerLag = Timer.builder("alert_consumer_lag")
+                .description("Time from publication to consumption of an alert message")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.discardedUnreadable = discarded(meterRegistry, "unreadable");
+        this.discardedVersion = discarded(meterRegistry, "unsupported_version");
+        this.discardedInvalid = discarded(meterRegistry, "invalid");
+    }
 
     @RabbitListener(queues = "alert.queue")
-    public void handleAlertEvent(Object event) {
-        CreateAlertRequest request = new CreateAlertRequest();
-        
-        // Manejar diferentes tipos de eventos
-        if (event instanceof Map) {
-            Map<String, Object> eventMap = (Map<String, Object>) event;
-            request.setCode((String) eventMap.get("code"));
-            request.setDescription((String) eventMap.get("description"));
-            request.setUsername((String) eventMap.get("username"));
-            request.setEmployeeCode((String) eventMap.get("employeeCode"));
-            request.setIpAddress((String) eventMap.get("ipAddress"));
-        } else if (event instanceof CreateAlertRequest) {
-            request = (CreateAlertRequest) event;
-        } else {
-            // Intentar convertir usando reflexión
-            try {
-                java.lang.reflect.Method getCode = event.getClass().getMethod("getCode");
-                java.lang.reflect.Method getDescription = event.getClass().getMethod("getDescription");
-                java.lang.reflect.Method getEmployeeCode = event.getClass().getMethod("getEmployeeCode");
-                
-                request.setCode((String) getCode.invoke(event));
-                request.setDescription((String) getDescription.invoke(event));
-                request.setEmployeeCode((String) getEmployeeCode.invoke(event));
-            } catch (Exception e) {
-                System.err.println("Error procesando evento de alerta: " + e.getMessage());
-                return;
+    public void handleAlertEvents(List<Message> messages) {
+        batchSize.record(messages.size());
+        long now = System.currentTimeMillis();
+        List<ReceivedAlert> received = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            Date publishedAt = message.getMessageProperties().getTimestamp();
+            if (publishedAt != null) {
+                consumerLag.record(Math.max(0, now - publishedAt.getTime()), TimeUnit.MILLISECONDS);
+            }
+            CreateAlertRequest request = toRequest(message);
+            if (request != null) {
+                received.add(new ReceivedAlert(message.getMessageProperties().getMessageId(), request));
+            }
+        }
+        if (received.isEmpty()) {
+            return;
+        }
+
+        try {
+            alertStream.publish(alertService.ingestAlerts(received));
+        } catch (DataIntegrityViolationException e) {
+            // Una alerta inválida no debe devolver el lote entero a la cola una y otra vez
+            logger.warn("Lote de {} alertas rechazado por la base de datos, se inserta de a una: {}",
+                    received.size(), e.getMessage());
+            List<AlertDTO> created = new ArrayList<>();
+            for (ReceivedAlert alert : received) {
+                try {
+                    created.addAll(alertService.ingestAlerts(List.of(alert)));
+                } catch (DataIntegrityViolationException invalid) {
+                    discardedInvalid.increment();
+                    logger.error("Alerta descartada (code={}): {}", alert.getRequest().getCode(), invalid.getMessage());
+                }
             }
+            alertStream.publish(created);
         }
-        
-        alertService.createAlert(request);
     }
-}
 
+    private CreateAlertRequest toRequest(Message message) {
+        AlertEvent event;
+        try {
+            event = decoder.decode(message);
+        } catch (UnsupportedAlertVersionException e) {
+            // Un productor más nuevo que este consumidor: no se adivina el significado de sus campos
+            discardedVersion.increment();
+            logger.error("Alerta con versión de esquema desconocida descartada ({}), messageId={}",
+                    e.getMessage(), message.getMessageProperties().getMessageId());
+            return null;
+        } catch (IOException e) {
+            discardedUnreadable.increment();
+            logger.error("Mensaje de alerta ilegible descartado: {}", e.getMessage());
+            return null;
+        }
+
+        CreateAlertRequest request = new CreateAlertRequest();
+        request.setCode(event.getCode());
+        request.setDescription(event.getDescription());
+        request.setUsername(event.getUsername());
+        request.setEmployeeCode(event.getEmployeeCode());
+        request.setIpAddress(event.getIpAddress());
+        return request;
+    }
+
+    private static Counter discarded(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("alert_listener_discarded_total")
+                .tag("reason", reason)
+                .description("Alert messages that could not be decoded or stored")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package com.accesscontrol.alert.listener;
+
+import java.io.IOException;
+
+/**
+ * Mensaje de alert.queue con una versión del esquema que este consumidor no conoce
+ */
+public class UnsupportedAlertVersionException extends IOException {
+
+    public UnsupportedAlertVersionException(String message) {
+        super(message);
+    }
+}
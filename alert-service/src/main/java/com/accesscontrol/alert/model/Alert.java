@@ -2,12 +2,32 @@ package com.accesscontrol.alert.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
-@Table(name = "alert")
+@Table(name = "alert", indexes = {
+    // Consola por código o usuario, de la más reciente a la más vieja, paginada por (timestamp, id)
+    @Index(name = "idx_alert_code_ts", columnList = "code, timestamp, id"),
+    @Index(name = "idx_alert_username_ts", columnList = "username, timestamp, id"),
+    // Listado general, rangos de fechas y purga por antigüedad
+    @Index(name = "idx_alert_ts_id", columnList = "timestamp, id")
+})
 public class Alert {
+
+    /**
+     * Ids asignados por bloques desde una tabla (optimizador pooled): el listener inserta cada
+     * lote de alertas como un único batch JDBC, cosa que IDENTITY impide porque necesita el id
+     * generado de cada fila.
+     */
+    public static final String ID_GENERATOR_TABLE = "alert_id_generator";
+    public static final String ID_GENERATOR_NAME = "alert";
+    public static final int ID_ALLOCATION_SIZE = 500;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "alert_id")
+    @TableGenerator(name = "alert_id", table = ID_GENERATOR_TABLE,
+        pkColumnName = "sequence_name", valueColumnName = "next_val",
+        pkColumnValue = ID_GENERATOR_NAME, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "alert_id", unique = true, nullable = false, length = 100)
@@ -31,13 +51,30 @@ public class Alert {
     @Column(name = "ip_address", length = 50)
     private String ipAddress;
 
+    /**
+     * Repeticiones agrupadas en esta fila por la ventana de supresión (ver
+     * service.AlertDeduplicator). timestamp es la primera y lastSeen la última.
+     */
+    @Column(name = "occurrences")
+    private Integer occurrences;
+
+    @Column(name = "last_seen")
+    private LocalDateTime lastSeen;
+
     @PrePersist
     protected void onCreate() {
         if (timestamp == null) {
             timestamp = LocalDateTime.now();
         }
         if (alertId == null) {
-            alertId = "ALERT-" + System.currentTimeMillis() + "-" + (int)(Math.random() * 1000);
+            // Un lote se inserta en el mismo milisegundo: el sufijo aleatorio debe ser amplio para no chocar
+            alertId = "ALERT-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        if (occurrences == null) {
+            occurrences = 1;
+        }
+        if (lastSeen == null) {
+            lastSeen = timestamp;
         }
     }
 
@@ -105,6 +142,22 @@ public class Alert {
     public void setIpAddress(String ipAddress) {
         this.ipAddress = ipAddress;
     }
+
+    public Integer getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(Integer occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public LocalDateTime getLastSeen() {
+        return lastSeen;
+    }
+
+    public void setLastSeen(LocalDateTime lastSeen) {
+        this.lastSeen = lastSeen;
+    }
 }
 
 
@@ -0,0 +1,51 @@
+package com.accesscontrol.alert.repository;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import static com.accesscontrol.alert.model.Alert.ID_ALLOCATION_SIZE;
+import static com.accesscontrol.alert.model.Alert.ID_GENERATOR_NAME;
+import static com.accesscontrol.alert.model.Alert.ID_GENERATOR_TABLE;
+
+/**
+ * Adelanta alert_id_generator por encima de las alertas AUTO_INCREMENT de database/init.sql
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class AlertIdGeneratorInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertIdGeneratorInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AlertIdGeneratorInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignWithExistingIds() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM alert", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // El optimizador pooled entrega el bloque que termina en next_val: el bloque completo debe superar MAX(id)
+        long required = maxId + ID_ALLOCATION_SIZE + 1;
+        // Si otra instancia ya creó la fila, sólo se adelanta
+        int updated;
+        try {
+            updated = jdbcTemplate.update("INSERT INTO " + ID_GENERATOR_TABLE
+                    + " (sequence_name, next_val) VALUES (?, ?)", ID_GENERATOR_NAME, required);
+        } catch (DuplicateKeyException e) {
+            updated = jdbcTemplate.update("UPDATE " + ID_GENERATOR_TABLE
+                    + " SET next_val = ? WHERE sequence_name = ? AND next_val < ?", required, ID_GENERATOR_NAME, required);
+        }
+        if (updated > 0) {
+            logger.info("Generador de ids de alert adelantado a {} (MAX(id) = {})", required, maxId);
+        }
+    }
+}
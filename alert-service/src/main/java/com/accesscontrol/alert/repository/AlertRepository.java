@@ -1,10 +1,13 @@
 package com.accesscontrol.alert.repository;
 
 import com.accesscontrol.alert.model.Alert;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,6 +23,48 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
     List<Alert> findRecentAlertsByUserAndCode(@Param("username") String username, 
                                                @Param("code") String code, 
                                                @Param("since") LocalDateTime since);
+
+    // Suma repeticiones suprimidas a la fila que abrió la ventana
+    @Modifying
+    @Query("UPDATE Alert a SET a.occurrences = COALESCE(a.occurrences, 1) + :count, a.lastSeen = :lastSeen WHERE a.id = :id")
+    int addOccurrences(@Param("id") Long id, @Param("count") int count, @Param("lastSeen") LocalDateTime lastSeen);
+
+    // Consola paginada por clave (timestamp, id) descendente: cada página arranca antes del cursor
+    String BEFORE_CURSOR = "(a.timestamp < :beforeTimestamp OR (a.timestamp = :beforeTimestamp AND a.id < :beforeId)) ";
+    String CURSOR_ORDER = "ORDER BY a.timestamp DESC, a.id DESC";
+
+    @Query("SELECT a FROM Alert a WHERE " + BEFORE_CURSOR + CURSOR_ORDER)
+    List<Alert> findPageBefore(@Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                               @Param("beforeId") Long beforeId,
+                               Pageable pageable);
+
+    @Query("SELECT a FROM Alert a WHERE a.timestamp BETWEEN :start AND :end AND " + BEFORE_CURSOR + CURSOR_ORDER)
+    List<Alert> findPageByTimestampBetweenBefore(@Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end,
+                                                 @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                                 @Param("beforeId") Long beforeId,
+                                                 Pageable pageable);
+
+    @Query("SELECT a FROM Alert a WHERE a.code = :code AND " + BEFORE_CURSOR + CURSOR_ORDER)
+    List<Alert> findPageByCodeBefore(@Param("code") String code,
+                                     @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                     @Param("beforeId") Long beforeId,
+                                     Pageable pageable);
+
+    @Query("SELECT a FROM Alert a WHERE a.username = :username AND " + BEFORE_CURSOR + CURSOR_ORDER)
+    List<Alert> findPageByUsernameBefore(@Param("username") String username,
+                                         @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                         @Param("beforeId") Long beforeId,
+                                         Pageable pageable);
+
+    // Retención: las más viejas primero, por el índice (timestamp, id)
+    @Query("SELECT a.id FROM Alert a WHERE a.timestamp < :cutoff ORDER BY a.timestamp, a.id")
+    List<Long> findIdsOlderThan(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Alert a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
 
 
@@ -0,0 +1,179 @@
+package com.accesscontrol.alert.service;
+
+import com.accesscontrol.alert.dto.CreateAlertRequest;
+import com.accesscontrol.alert.dto.ReceivedAlert;
+import com.accesscontrol.alert.model.Alert;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Supresión en memoria de alertas repetidas
+ *
+ * La clave es (code, username o employeeCode). La primera alerta de una clave crea una fila y
+ * abre una ventana de alert.dedup.window; las repeticiones dentro de esa ventana no crean filas,
+ * suman en occurrences y mueven last_seen de la misma fila. Vencida la ventana, la siguiente
+ * repetición abre una fila nueva, así la consola sigue viendo un ataque que continúa.
+ *
+ * El estado se actualiza sólo cuando confirma la transacción del lote ({@link #commit}), de modo
+ * que un lote que vuelve a la cola no se cuenta dos veces. También recuerda los últimos messageId
+ * recibidos para descartar reentregas del outbox (entrega al menos una vez). El estado es por
+ * instancia: con varias instancias cada una abre su propia fila por ventana y la suma de
+ * occurrences sigue siendo exacta.
+ */
+@Component
+public class AlertDeduplicator {
+
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxKeys;
+
+    // Orden de inserción = orden de apertura de la ventana: las vencidas quedan al principio
+    private final LinkedHashMap<String, Window> windows = new LinkedHashMap<>();
+    private final LinkedHashMap<String, Boolean> recentMessageIds;
+
+    private final Counter suppressedCounter;
+    private final Counter redeliveredCounter;
+
+    public AlertDeduplicator(MeterRegistry meterRegistry,
+                             @Value("${alert.dedup.enabled:true}") boolean enabled,
+                             @Value("${alert.dedup.window:5m}") Duration window,
+                             @Value("${alert.dedup.max-keys:100000}") int maxKeys,
+                             @Value("${alert.dedup.message-ids:10000}") int maxMessageIds) {
+        this.enabled = enabled;
+        this.window = window;
+        this.maxKeys = maxKeys;
+        this.recentMessageIds = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxMessageIds;
+            }
+        };
+        this.suppressedCounter = Counter.builder("alert_dedup_suppressed_total")
+                .description("Alerts folded into an existing row instead of inserting a new one")
+                .register(meterRegistry);
+        this.redeliveredCounter = Counter.builder("alert_dedup_redelivered_total")
+                .description("Redelivered alert messages discarded by messageId")
+                .register(meterRegistry);
+        Gauge.builder("alert_dedup_windows", this, AlertDeduplicator::openWindows)
+                .description("Alert keys with an open suppression window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Decide qué alertas del lote crean filas y cuántas repeticiones suma cada fila existente,
+     * sin modificar el estado.
+     */
+    synchronized Plan plan(List<ReceivedAlert> received, LocalDateTime now) {
+        Plan plan = new Plan(now);
+        for (ReceivedAlert alert : received) {
+            String messageId = alert.getMessageId();
+            if (messageId != null && (recentMessageIds.containsKey(messageId) || !plan.messageIds.add(messageId))) {
+                plan.redelivered++;
+                continue;
+            }
+
+            CreateAlertRequest request = alert.getRequest();
+            String key = key(request);
+            Alert pending = enabled ? plan.newByKey.get(key) : null;
+            if (pending != null) {
+                pending.setOccurrences(pending.getOccurrences() + 1);
+                plan.suppressed++;
+                continue;
+            }
+            Window open = enabled ? windows.get(key) : null;
+            if (open != null && now.isBefore(open.firstSeen.plus(window))) {
+                plan.increments.merge(open.alertId, 1, Integer::sum);
+                plan.suppressed++;
+                continue;
+            }
+
+            Alert created = AlertService.toEntity(request, now);
+            created.setOccurrences(1);
+            created.setLastSeen(now);
+            plan.newAlerts.add(created);
+            if (enabled) {
+                plan.newByKey.put(key, created);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Aplica un plan ya confirmado en la base: abre las ventanas de las filas nuevas y recuerda
+     * los messageId procesados.
+     */
+    synchronized void commit(Plan plan) {
+        for (Map.Entry<String, Alert> created : plan.newByKey.entrySet()) {
+            windows.remove(created.getKey());
+            windows.put(created.getKey(), new Window(created.getValue().getId(), plan.now));
+        }
+        for (String messageId : plan.messageIds) {
+            recentMessageIds.put(messageId, Boolean.TRUE);
+        }
+        expire(plan.now);
+        suppressedCounter.increment(plan.suppressed);
+        redeliveredCounter.increment(plan.redelivered);
+    }
+
+    private void expire(LocalDateTime now) {
+        Iterator<Window> open = windows.values().iterator();
+        while (open.hasNext()) {
+            Window next = open.next();
+            // Por encima del límite se cierran las más viejas: la próxima repetición abre fila nueva
+            if (now.isBefore(next.firstSeen.plus(window)) && windows.size() <= maxKeys) {
+                break;
+            }
+            open.remove();
+        }
+    }
+
+    synchronized int openWindows() {
+        return windows.size();
+    }
+
+    private static String key(CreateAlertRequest request) {
+        String who = request.getUsername() != null ? request.getUsername() : request.getEmployeeCode();
+        return request.getCode() + '|' + (who != null ? who : "");
+    }
+
+    private static final class Window {
+        private final Long alertId;
+        private final LocalDateTime firstSeen;
+
+        private Window(Long alertId, LocalDateTime firstSeen) {
+            this.alertId = alertId;
+            this.firstSeen = firstSeen;
+        }
+    }
+
+    /**
+     * Resultado de {@link #plan}: filas a insertar y repeticiones a sumar por id de fila
+     */
+    static final class Plan {
+        final LocalDateTime now;
+        final List<Alert> newAlerts = new ArrayList<>();
+        final Map<String, Alert> newByKey = new HashMap<>();
+        final Map<Long, Integer> increments = new LinkedHashMap<>();
+        final Set<String> messageIds = new LinkedHashSet<>();
+        int suppressed;
+        int redelivered;
+
+        private Plan(LocalDateTime now) {
+            this.now = now;
+        }
+    }
+}
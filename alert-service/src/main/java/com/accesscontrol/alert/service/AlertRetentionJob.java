@@ -0,0 +1,82 @@
+package com.accesscontrol.alert.service;
+
+import com.accesscontrol.alert.repository.AlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Retención de alertas en segundo plano
+ *
+ * Borra las alertas con timestamp anterior a alert.retention.period, las más viejas primero y en
+ * lotes de ids por el índice (timestamp, id). Cada DELETE es su propia transacción corta, así que
+ * la ingesta del listener y las consultas de la consola no esperan a la purga; una corrida se
+ * detiene en max-batches-per-run y la siguiente continúa donde quedó.
+ *
+ * El período debe ser mucho mayor que alert.dedup.window: una repetición que llega a una fila ya
+ * purgada no se suma en ninguna parte.
+ */
+@Component
+@ConditionalOnProperty(name = "alert.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class AlertRetentionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertRetentionJob.class);
+
+    private final AlertRepository alertRepository;
+    private final Counter purgedCounter;
+
+    @Value("${alert.retention.period:365d}")
+    private Duration period;
+
+    @Value("${alert.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${alert.retention.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    public AlertRetentionJob(AlertRepository alertRepository, MeterRegistry meterRegistry) {
+        this.alertRepository = alertRepository;
+        this.purgedCounter = Counter.builder("alert_retention_purged_total")
+                .description("Alerts deleted by the retention job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${alert.retention.initial-delay:60000}",
+               fixedDelayString = "${alert.retention.fixed-delay:3600000}")
+    public void run() {
+        purgeOlderThan(LocalDateTime.now().minus(period));
+    }
+
+    /**
+     * Borra hasta max-batches-per-run lotes de alertas anteriores a cutoff y devuelve cuántas borró.
+     */
+    public int purgeOlderThan(LocalDateTime cutoff) {
+        int purged = 0;
+        for (int batches = 0; batches < maxBatchesPerRun; batches++) {
+            List<Long> ids = alertRepository.findIdsOlderThan(cutoff, Pageable.ofSize(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            int deleted = alertRepository.deleteByIdIn(ids);
+            purgedCounter.increment(deleted);
+            purged += deleted;
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            logger.info("Retención de alertas: {} alertas anteriores a {} borradas", purged, cutoff);
+        }
+        return purged;
+    }
+}
@@ -1,35 +1,76 @@
 package com.accesscontrol.alert.service;
 
+import com.accesscontrol.alert.dto.AlertCursor;
 import com.accesscontrol.alert.dto.AlertDTO;
+import com.accesscontrol.alert.dto.AlertPageDTO;
 import com.accesscontrol.alert.dto.CreateAlertRequest;
+import com.accesscontrol.alert.dto.ReceivedAlert;
 import com.accesscontrol.alert.model.Alert;
 import com.accesscontrol.alert.repository.AlertRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class AlertService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
     
     @Autowired
     private AlertRepository alertRepository;
 
+    @Autowired
+    private AlertDeduplicator alertDeduplicator;
+
     public AlertDTO createAlert(CreateAlertRequest request) {
+        Alert saved = alertRepository.save(toEntity(request, LocalDateTime.now()));
+        return new AlertDTO(saved);
+    }
+
+    /**
+     * Registra un lote recibido por alert.queue en una sola transacción. Las repeticiones dentro
+     * de la ventana de supresión suman en la fila existente (ver {@link AlertDeduplicator}); las
+     * filas nuevas se insertan juntas y, con ids reservados por bloques, Hibernate las agrupa en
+     * batches JDBC (hibernate.jdbc.batch_size). Devuelve las alertas creadas.
+     */
+    public List<AlertDTO> ingestAlerts(List<ReceivedAlert> received) {
+        AlertDeduplicator.Plan plan = alertDeduplicator.plan(received, LocalDateTime.now());
+        alertRepository.saveAll(plan.newAlerts);
+        for (Map.Entry<Long, Integer> increment : plan.increments.entrySet()) {
+            alertRepository.addOccurrences(increment.getKey(), increment.getValue(), plan.now);
+        }
+        // Las ventanas abiertas y los messageId vistos sólo cuentan si el lote quedó guardado
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alertDeduplicator.commit(plan);
+            }
+        });
+        return plan.newAlerts.stream()
+                .map(AlertDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    static Alert toEntity(CreateAlertRequest request, LocalDateTime timestamp) {
         Alert alert = new Alert();
         alert.setCode(request.getCode());
         alert.setDescription(request.getDescription());
         alert.setUsername(request.getUsername());
         alert.setEmployeeCode(request.getEmployeeCode());
         alert.setIpAddress(request.getIpAddress());
-        alert.setTimestamp(LocalDateTime.now());
-        
-        Alert saved = alertRepository.save(alert);
-        return new AlertDTO(saved);
+        alert.setTimestamp(timestamp);
+        return alert;
     }
 
     public List<AlertDTO> getAllAlerts() {
@@ -50,6 +91,45 @@ public class AlertService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Alertas paginadas por cursor (timestamp, id), de la más reciente a la más vieja; con
+     * startDate y endDate se limitan a ese rango. Se pide una alerta de más para saber si hay
+     * página siguiente sin contar filas.
+     */
+    @Transactional(readOnly = true)
+    public AlertPageDTO getAlertsPage(LocalDateTime startDate, LocalDateTime endDate, String cursor, int size) {
+        AlertCursor before = AlertCursor.decode(cursor);
+        if (startDate != null && endDate != null) {
+            return page(size, limit -> alertRepository.findPageByTimestampBetweenBefore(
+                    startDate, endDate, before.getTimestamp(), before.getId(), limit));
+        }
+        return page(size, limit -> alertRepository.findPageBefore(before.getTimestamp(), before.getId(), limit));
+    }
+
+    @Transactional(readOnly = true)
+    public AlertPageDTO getAlertsByCodePage(String code, String cursor, int size) {
+        AlertCursor before = AlertCursor.decode(cursor);
+        return page(size, limit -> alertRepository.findPageByCodeBefore(code, before.getTimestamp(), before.getId(), limit));
+    }
+
+    @Transactional(readOnly = true)
+    public AlertPageDTO getAlertsByUsernamePage(String username, String cursor, int size) {
+        AlertCursor before = AlertCursor.decode(cursor);
+        return page(size, limit -> alertRepository.findPageByUsernameBefore(username, before.getTimestamp(), before.getId(), limit));
+    }
+
+    private AlertPageDTO page(int size, Function<Pageable, List<Alert>> query) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Alert> alerts = query.apply(Pageable.ofSize(limit + 1));
+
+        boolean hasMore = alerts.size() > limit;
+        List<Alert> page = hasMore ? alerts.subList(0, limit) : alerts;
+        String nextCursor = hasMore ? AlertCursor.before(page.get(page.size() - 1)).encode() : null;
+        return new AlertPageDTO(page.stream()
+                .map(AlertDTO::new)
+                .collect(Collectors.toList()), nextCursor);
+    }
+
     public List<AlertDTO> getRecentAlertsByUserAndCode(String username, String code, int minutes) {
         LocalDateTime since = LocalDateTime.now().minusMinutes(minutes);
         return alertRepository.findRecentAlertsByUserAndCode(username, code, since).stream()
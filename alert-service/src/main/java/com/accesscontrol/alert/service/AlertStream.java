@@ -0,0 +1,204 @@
+package com.accesscontrol.alert.service;
+
+import com.accesscontrol.alert.dto.AlertDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Difusión en vivo de alertas nuevas por Server-Sent Events (GET /alert/stream)
+ *
+ * {@link #publish} la llama el listener después de confirmar cada lote y nunca espera a un
+ * cliente: cada evento se serializa una sola vez y se encola en el buffer acotado de cada
+ * suscriptor (alert.stream.buffer-size). Un hilo de envío por suscriptor activo vacía su buffer
+ * hacia la conexión; si un cliente lento deja que su buffer se llene se lo desconecta, y el
+ * EventSource del navegador se reconecta solo.
+ *
+ * Un heartbeat periódico mantiene abiertas las conexiones a través de proxies y detecta clientes
+ * que ya se fueron. Las repeticiones sumadas a una fila existente (ver AlertDeduplicator) no se
+ * difunden; la consola las ve en los listados paginados.
+ */
+@Component
+public class AlertStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertStream.class);
+
+    private static final ObjectWriter ALERT_WRITER = new ObjectMapper().writerFor(AlertDTO.class);
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+
+    private final Counter slowDropped;
+    private final Counter closedDropped;
+
+    public AlertStream(MeterRegistry meterRegistry,
+                       @Value("${alert.stream.buffer-size:256}") int bufferSize,
+                       @Value("${alert.stream.max-subscribers:200}") int maxSubscribers,
+                       @Value("${alert.stream.timeout:30m}") Duration timeout) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "alert-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("alert_stream_subscribers", subscribers, Set::size)
+                .description("Clients connected to the live alert stream")
+                .register(meterRegistry);
+        this.slowDropped = Counter.builder("alert_stream_dropped_total")
+                .tag("reason", "slow")
+                .description("Alert stream clients disconnected by the server")
+                .register(meterRegistry);
+        this.closedDropped = Counter.builder("alert_stream_dropped_total")
+                .tag("reason", "closed")
+                .description("Alert stream clients disconnected by the server")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra un suscriptor nuevo; vacío si ya se alcanzó alert.stream.max-subscribers.
+     */
+    public Optional<SseEmitter> subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Encola las alertas para todos los suscriptores sin bloquear al que publica.
+     */
+    public void publish(List<AlertDTO> alerts) {
+        if (alerts.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+        List<Set<DataWithMediaType>> events = new ArrayList<>(alerts.size());
+        for (AlertDTO alert : alerts) {
+            try {
+                events.add(SseEmitter.event()
+                        .id(alert.getId())
+                        .name("alert")
+                        .data(ALERT_WRITER.writeValueAsString(alert))
+                        .build());
+            } catch (JsonProcessingException e) {
+                logger.warn("Alerta {} no difundida: {}", alert.getId(), e.getMessage());
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, events);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${alert.stream.heartbeat:20000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, List.of(HEARTBEAT));
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void enqueue(Subscriber subscriber, List<Set<DataWithMediaType>> events) {
+        for (Set<DataWithMediaType> event : events) {
+            if (!subscriber.buffer.offer(event)) {
+                drop(subscriber, slowDropped);
+                return;
+            }
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> event;
+            while (!subscriber.closed.get() && (event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Conexión cerrada por el cliente o emisor ya completado
+            drop(subscriber, closedDropped);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Un evento encolado justo después del último poll no debe quedar esperando al siguiente
+        if (!subscriber.closed.get() && !subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber, Counter reason) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        subscriber.buffer.clear();
+        reason.increment();
+        // complete() espera al send en curso (ambos synchronized): nunca en el hilo que publica
+        senders.execute(subscriber.emitter::complete);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.accesscontrol.alert.listener;
+
+import com.accesscontrol.alert.dto.AlertEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AlertEventDecoder - Decodificación tipada de alert.queue")
+class AlertEventDecoderTest {
+
+    private final AlertEventDecoder decoder = new AlertEventDecoder();
+
+    private Message json(String body, String typeId) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader("__TypeId__", typeId);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    @Test
+    @DisplayName("Un evento alert.v1 se decodifica ignorando campos que la versión no conoce")
+    void testDecodesSchemaV1() throws IOException {
+        AlertEvent event = decoder.decode(json("{\"schemaVersion\":1,\"code\":\"LOGIN_USR_ATTEMPS_EXCEEDED\","
+                + "\"description\":\"Intentos excedidos\",\"username\":\"ana\",\"ipAddress\":\"10.0.0.7\","
+                + "\"timestamp\":\"2024-03-15T08:00:00\",\"severity\":\"HIGH\"}", AlertEvent.TYPE_ID));
+
+        assertThat(event.getSchemaVersion()).isEqualTo(1);
+        assertThat(event.getCode()).isEqualTo("LOGIN_USR_ATTEMPS_EXCEEDED");
+        assertThat(event.getUsername()).isEqualTo("ana");
+        assertThat(event.getIpAddress()).isEqualTo("10.0.0.7");
+    }
+
+    @Test
+    @DisplayName("Los mensajes anteriores al esquema se leen como versión 1 sin importar su __TypeId__")
+    void testDecodesLegacyMessages() throws IOException {
+        Map<String, Object> legacy = new HashMap<>();
+        legacy.put("code", "EMPLOYEE_ALREADY_ENTERED");
+        legacy.put("employeeCode", "12345678");
+        Message fromMap = new Jackson2JsonMessageConverter().toMessage(legacy, new MessageProperties());
+        Message fromForeignClass = json("{\"code\":\"LOGIN_USR_NOT_REGISTERED\",\"username\":\"intruso\"}",
+                "com.accesscontrol.login.dto.AlertEvent");
+
+        assertThat(decoder.decode(fromMap)).satisfies(event -> {
+            assertThat(event.getSchemaVersion()).isEqualTo(1);
+            assertThat(event.getCode()).isEqualTo("EMPLOYEE_ALREADY_ENTERED");
+            assertThat(event.getEmployeeCode()).isEqualTo("12345678");
+        });
+        assertThat(decoder.decode(fromForeignClass).getUsername()).isEqualTo("intruso");
+    }
+
+    @Test
+    @DisplayName("Una versión de esquema desconocida se rechaza en lugar de leerse como versión 1")
+    void testRejectsUnknownSchemaVersion() {
+        String v2 = "{\"schemaVersion\":2,\"code\":\"LOGIN_USR_ATTEMPS_EXCEEDED\",\"username\":\"ana\"}";
+
+        assertThatThrownBy(() -> decoder.decode(json(v2, "alert.v2")))
+                .isInstanceOf(UnsupportedAlertVersionException.class)
+                .hasMessageContaining("schemaVersion 2");
+        assertThatThrownBy(() -> decoder.decode(json("{\"code\":\"LOGIN_USR_NOT_REGISTERED\"}", "alert.v2")))
+                .isInstanceOf(UnsupportedAlertVersionException.class)
+                .hasMessageContaining("alert.v2");
+    }
+
+    @Test
+    @DisplayName("Un cuerpo que no es JSON falla con IOException")
+    void testRejectsMalformedBody() {
+        assertThatThrownBy(() -> decoder.decode(json("{no es json", AlertEvent.TYPE_ID)))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,188 @@
+package com.accesscontrol.alert.listener;
+
+import com.accesscontrol.alert.AlertServiceApplication;
+import com.accesscontrol.alert.model.Alert;
+import com.accesscontrol.alert.repository.AlertRepository;
+import com.accesscontrol.alert.service.AlertDeduplicator;
+import com.accesscontrol.alert.service.AlertService;
+import com.accesscontrol.alert.service.AlertStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Sin transacción de prueba: cada lote se confirma en su propia transacción, como en el listener real
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ContextConfiguration(classes = AlertServiceApplication.class)
+@Import({AlertService.class, AlertDeduplicator.class, AlertStream.class, AlertEventListener.class, AlertEventDecoder.class, AlertEventListenerTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("AlertEventListener - Consumo de alertas por lotes")
+class AlertEventListenerTest {
+
+    @Configuration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        MessageConverter messageConverter() {
+            return new Jackson2JsonMessageConverter();
+        }
+    }
+
+    @Autowired
+    private AlertEventListener listener;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private MessageConverter messageConverter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        alertRepository.deleteAll();
+    }
+
+    private double discarded() {
+        return meterRegistry.get("alert_listener_discarded_total").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private double discarded(String reason) {
+        return meterRegistry.get("alert_listener_discarded_total").tag("reason", reason).counter().count();
+    }
+
+    private Message alert(String code, String username, String messageId) {
+        Message message = alert(code, username);
+        message.getMessageProperties().setMessageId(messageId);
+        return message;
+    }
+
+    private Message alert(String code, String username) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("code", code);
+        event.put("description", "Alerta de prueba para " + username);
+        event.put("username", username);
+        MessageProperties properties = new MessageProperties();
+        properties.setTimestamp(new Date(System.currentTimeMillis() - 1_000));
+        return messageConverter.toMessage(event, properties);
+    }
+
+    @Test
+    @DisplayName("Un lote de mensajes se guarda completo con alertId distintos y registra métricas")
+    void testBatchIsStored() {
+        double messagesBefore = meterRegistry.get("alert_listener_batch_size").summary().totalAmount();
+        long lagBefore = meterRegistry.get("alert_consumer_lag").timer().count();
+
+        listener.handleAlertEvents(List.of(
+                alert("LOGIN_USR_ATTEMPS_EXCEEDED", "ana"),
+                alert("LOGIN_USR_ATTEMPS_EXCEEDED", "beto"),
+                alert("LOGIN_USR_NOT_REGISTERED", "intruso")));
+
+        List<Alert> alerts = alertRepository.findAll();
+        assertThat(alerts).hasSize(3);
+        assertThat(alerts).extracting(Alert::getAlertId).doesNotHaveDuplicates();
+        assertThat(meterRegistry.get("alert_listener_batch_size").summary().totalAmount() - messagesBefore)
+                .isEqualTo(3.0);
+        assertThat(meterRegistry.get("alert_consumer_lag").timer().count() - lagBefore).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Un mensaje inválido se descarta sin perder el resto del lote")
+    void testInvalidMessagesAreDiscarded() {
+        double discardedBefore = discarded();
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        Message unreadable = new Message("{no es json".getBytes(StandardCharsets.UTF_8), properties);
+
+        listener.handleAlertEvents(List.of(
+                alert("EMPLOYEE_ALREADY_ENTERED", "emp1"),
+                alert(null, "sin-codigo"),
+                unreadable,
+                alert("EMPLOYEE_ALREADY_LEFT", "emp2")));
+
+        assertThat(alertRepository.findAll()).extracting(Alert::getCode)
+                .containsExactlyInAnyOrder("EMPLOYEE_ALREADY_ENTERED", "EMPLOYEE_ALREADY_LEFT");
+        assertThat(discarded() - discardedBefore).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Un mensaje de una versión de esquema desconocida se descarta y se cuenta por motivo")
+    void testUnknownSchemaVersionIsDiscarded() {
+        double versionBefore = discarded("unsupported_version");
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader("__TypeId__", "alert.v2");
+        Message v2 = new Message(("{\"schemaVersion\":2,\"code\":\"EMPLOYEE_ALREADY_LEFT\","
+                + "\"employeeCode\":\"EMP9\",\"severity\":\"HIGH\"}").getBytes(StandardCharsets.UTF_8), properties);
+
+        listener.handleAlertEvents(List.of(v2, alert("EMPLOYEE_ALREADY_ENTERED", "emp3")));
+
+        assertThat(alertRepository.findAll()).extracting(Alert::getCode)
+                .containsExactly("EMPLOYEE_ALREADY_ENTERED");
+        assertThat(discarded("unsupported_version") - versionBefore).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Las repeticiones dentro de la ventana suman en una sola fila, también entre lotes")
+    void testRepeatsAreFoldedIntoOneRow() {
+        listener.handleAlertEvents(List.of(
+                alert("LOGIN_USR_ATTEMPS_EXCEEDED", "carla"),
+                alert("LOGIN_USR_ATTEMPS_EXCEEDED", "carla")));
+        listener.handleAlertEvents(List.of(
+                alert("LOGIN_USR_ATTEMPS_EXCEEDED", "carla"),
+                alert("LOGIN_USR_NOT_REGISTERED", "carla"),
+                alert("LOGIN_USR_ATTEMPS_EXCEEDED", "carla"),
+                alert("LOGIN_USR_ATTEMPS_EXCEEDED", "carla")));
+
+        List<Alert> alerts = alertRepository.findAll();
+        assertThat(alerts).extracting(Alert::getCode, Alert::getOccurrences).containsExactlyInAnyOrder(
+                tuple("LOGIN_USR_ATTEMPS_EXCEEDED", 5),
+                tuple("LOGIN_USR_NOT_REGISTERED", 1));
+        Alert folded = alerts.stream().filter(alert -> alert.getOccurrences() == 5).findFirst().orElseThrow();
+        assertThat(folded.getLastSeen()).isAfter(folded.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Un mensaje reentregado con el mismo messageId no se cuenta dos veces")
+    void testRedeliveredMessagesAreIgnored() {
+        listener.handleAlertEvents(List.of(
+                alert("EMPLOYEE_ALREADY_LEFT", "dario", "outbox-41"),
+                alert("EMPLOYEE_ALREADY_LEFT", "dario", "outbox-42")));
+        listener.handleAlertEvents(List.of(
+                alert("EMPLOYEE_ALREADY_LEFT", "dario", "outbox-42"),
+                alert("EMPLOYEE_ALREADY_LEFT", "dario", "outbox-43")));
+
+        assertThat(alertRepository.findAll()).singleElement()
+                .satisfies(alert -> assertThat(alert.getOccurrences()).isEqualTo(3));
+    }
+}
@@ -0,0 +1,111 @@
+package com.accesscontrol.alert.repository;
+
+import com.accesscontrol.alert.AlertServiceApplication;
+import com.accesscontrol.alert.model.Alert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.accesscontrol.alert.model.Alert.ID_ALLOCATION_SIZE;
+import static com.accesscontrol.alert.model.Alert.ID_GENERATOR_NAME;
+import static com.accesscontrol.alert.model.Alert.ID_GENERATOR_TABLE;
+import static org.assertj.core.api.Assertions.*;
+
+// Sin transacción de prueba: el generador reserva ids en su propia transacción sobre alert_id_generator
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ContextConfiguration(classes = AlertServiceApplication.class)
+@Import(AlertIdGeneratorInitializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("AlertIdGeneratorInitializer - Alertas con ids AUTO_INCREMENT de init.sql")
+class AlertIdGeneratorInitializerTest {
+
+    @Autowired
+    private AlertIdGeneratorInitializer initializer;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM alert");
+        jdbcTemplate.update("DELETE FROM " + ID_GENERATOR_TABLE + " WHERE sequence_name = ?", ID_GENERATOR_NAME);
+    }
+
+    private void insertLegacyAlert(long id) {
+        jdbcTemplate.update("INSERT INTO alert (id, alert_id, timestamp, code, description, occurrences) "
+                + "VALUES (?, ?, TIMESTAMP '2024-03-15 08:00:00', 'EMPLOYEE_ALREADY_LEFT', 'init.sql', 1)",
+                id, "ALERT-LEGACY-" + id);
+    }
+
+    private Long nextVal() {
+        List<Long> values = jdbcTemplate.queryForList("SELECT next_val FROM " + ID_GENERATOR_TABLE
+                + " WHERE sequence_name = ?", Long.class, ID_GENERATOR_NAME);
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    private Alert alert(String code) {
+        Alert alert = new Alert();
+        alert.setCode(code);
+        alert.setDescription("Alerta de prueba");
+        return alert;
+    }
+
+    @Test
+    @DisplayName("Sin fila del generador la inserta y el lote guardado con saveAll queda por encima de MAX(id)")
+    void testInsertsGeneratorRowAboveLegacyAlerts() {
+        insertLegacyAlert(7000);
+        assertThat(nextVal()).isNull();
+
+        initializer.alignWithExistingIds();
+
+        assertThat(nextVal()).isEqualTo(7000L + ID_ALLOCATION_SIZE + 1);
+        List<Alert> batch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            batch.add(alert("EMPLOYEE_ALREADY_ENTERED"));
+        }
+        List<Alert> saved = alertRepository.saveAll(batch);
+        assertThat(saved).extracting(Alert::getId).allSatisfy(id -> assertThat(id).isGreaterThan(7000L))
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Con la fila ya creada por otra instancia toma el camino del UPDATE y sólo la adelanta")
+    void testExistingRowIsOnlyMovedForward() {
+        insertLegacyAlert(9000);
+        jdbcTemplate.update("INSERT INTO " + ID_GENERATOR_TABLE + " (sequence_name, next_val) VALUES (?, 1)",
+                ID_GENERATOR_NAME);
+
+        initializer.alignWithExistingIds();
+        assertThat(nextVal()).isEqualTo(9000L + ID_ALLOCATION_SIZE + 1);
+
+        // Otra instancia ya reservó más bloques: volver a alinear no retrocede el generador
+        jdbcTemplate.update("UPDATE " + ID_GENERATOR_TABLE + " SET next_val = 20000 WHERE sequence_name = ?",
+                ID_GENERATOR_NAME);
+        initializer.alignWithExistingIds();
+
+        assertThat(nextVal()).isEqualTo(20000L);
+    }
+
+    @Test
+    @DisplayName("Sin alertas previas no toca el generador")
+    void testEmptyAlertTableLeavesGeneratorAlone() {
+        Long before = nextVal();
+
+        initializer.alignWithExistingIds();
+
+        assertThat(nextVal()).isEqualTo(before);
+    }
+}
@@ -0,0 +1,93 @@
+package com.accesscontrol.alert.service;
+
+import com.accesscontrol.alert.dto.CreateAlertRequest;
+import com.accesscontrol.alert.dto.ReceivedAlert;
+import com.accesscontrol.alert.model.Alert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AlertDeduplicator - Supresión de alertas repetidas por ventana")
+class AlertDeduplicatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 15, 8, 0);
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private AlertDeduplicator deduplicator(boolean enabled, int maxKeys) {
+        return new AlertDeduplicator(new SimpleMeterRegistry(), enabled, Duration.ofMinutes(5), maxKeys, 100);
+    }
+
+    private ReceivedAlert alert(String code, String username) {
+        CreateAlertRequest request = new CreateAlertRequest();
+        request.setCode(code);
+        request.setUsername(username);
+        return new ReceivedAlert(null, request);
+    }
+
+    // Simula el guardado: la base asigna ids y la transacción confirma
+    private AlertDeduplicator.Plan ingest(AlertDeduplicator deduplicator, LocalDateTime now, ReceivedAlert... alerts) {
+        AlertDeduplicator.Plan plan = deduplicator.plan(List.of(alerts), now);
+        plan.newAlerts.forEach(alert -> alert.setId(ids.incrementAndGet()));
+        deduplicator.commit(plan);
+        return plan;
+    }
+
+    @Test
+    @DisplayName("Vencida la ventana, la siguiente repetición abre una fila nueva")
+    void testExpiredWindowOpensNewRow() {
+        AlertDeduplicator deduplicator = deduplicator(true, 100);
+
+        AlertDeduplicator.Plan first = ingest(deduplicator, START, alert("LOGIN_USR_ATTEMPS_EXCEEDED", "ana"));
+        AlertDeduplicator.Plan inWindow = ingest(deduplicator, START.plusMinutes(4), alert("LOGIN_USR_ATTEMPS_EXCEEDED", "ana"));
+        AlertDeduplicator.Plan afterWindow = ingest(deduplicator, START.plusMinutes(6), alert("LOGIN_USR_ATTEMPS_EXCEEDED", "ana"));
+
+        assertThat(first.newAlerts).hasSize(1);
+        assertThat(inWindow.newAlerts).isEmpty();
+        assertThat(inWindow.increments).containsEntry(first.newAlerts.get(0).getId(), 1);
+        assertThat(afterWindow.newAlerts).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Un plan que no se confirma no abre ventanas")
+    void testUncommittedPlanLeavesNoState() {
+        AlertDeduplicator deduplicator = deduplicator(true, 100);
+
+        deduplicator.plan(List.of(alert("EMPLOYEE_ALREADY_ENTERED", "emp1")), START);
+        AlertDeduplicator.Plan retry = deduplicator.plan(List.of(alert("EMPLOYEE_ALREADY_ENTERED", "emp1")), START);
+
+        assertThat(retry.newAlerts).hasSize(1);
+        assertThat(retry.increments).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Por encima del límite de claves se cierran las ventanas más viejas")
+    void testMaxKeysEvictsOldestWindows() {
+        AlertDeduplicator deduplicator = deduplicator(true, 2);
+
+        ingest(deduplicator, START, alert("LOGIN_USR_NOT_REGISTERED", "a"));
+        ingest(deduplicator, START.plusSeconds(1), alert("LOGIN_USR_NOT_REGISTERED", "b"), alert("LOGIN_USR_NOT_REGISTERED", "c"));
+
+        assertThat(deduplicator.openWindows()).isEqualTo(2);
+        assertThat(ingest(deduplicator, START.plusSeconds(2), alert("LOGIN_USR_NOT_REGISTERED", "a")).newAlerts).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deshabilitada, cada alerta es una fila")
+    void testDisabledKeepsOneRowPerAlert() {
+        AlertDeduplicator deduplicator = deduplicator(false, 100);
+
+        AlertDeduplicator.Plan plan = ingest(deduplicator, START,
+                alert("EMPLOYEE_ALREADY_LEFT", "emp2"), alert("EMPLOYEE_ALREADY_LEFT", "emp2"));
+
+        assertThat(plan.newAlerts).extracting(Alert::getOccurrences).containsExactly(1, 1);
+        assertThat(deduplicator.openWindows()).isZero();
+    }
+}
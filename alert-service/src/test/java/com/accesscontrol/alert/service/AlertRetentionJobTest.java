@@ -0,0 +1,96 @@
+package com.accesscontrol.alert.service;
+
+import com.accesscontrol.alert.AlertServiceApplication;
+import com.accesscontrol.alert.model.Alert;
+import com.accesscontrol.alert.repository.AlertRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "alert.retention.batch-size=2",
+        "alert.retention.max-batches-per-run=2"
+})
+@ContextConfiguration(classes = AlertServiceApplication.class)
+@Import({AlertRetentionJob.class, AlertRetentionJobTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("AlertRetentionJob - Purga de alertas por antigüedad")
+class AlertRetentionJobTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 3, 15, 0, 0);
+
+    @Configuration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private AlertRetentionJob retentionJob;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        alertRepository.deleteAll();
+    }
+
+    private void store(int old, int recent) {
+        List<Alert> alerts = new ArrayList<>();
+        for (int i = 0; i < old + recent; i++) {
+            Alert alert = new Alert();
+            alert.setCode("LOGIN_USR_NOT_REGISTERED");
+            alert.setUsername("user" + i);
+            alert.setTimestamp(i < old ? CUTOFF.minusDays(1 + i) : CUTOFF.plusMinutes(i));
+            alerts.add(alert);
+        }
+        alertRepository.saveAll(alerts);
+    }
+
+    @Test
+    @DisplayName("Borra sólo las alertas anteriores al corte, por lotes, y lo registra en la métrica")
+    void testPurgesOnlyExpiredAlerts() {
+        store(3, 2);
+        double before = meterRegistry.counter("alert_retention_purged_total").count();
+
+        assertThat(retentionJob.purgeOlderThan(CUTOFF)).isEqualTo(3);
+
+        assertThat(alertRepository.findAll()).hasSize(2)
+                .allSatisfy(alert -> assertThat(alert.getTimestamp()).isAfterOrEqualTo(CUTOFF));
+        assertThat(meterRegistry.counter("alert_retention_purged_total").count() - before).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Una corrida se detiene en max-batches-per-run y la siguiente continúa")
+    void testRunIsBoundedAndResumes() {
+        store(5, 1);
+
+        assertThat(retentionJob.purgeOlderThan(CUTOFF)).isEqualTo(4);
+        assertThat(retentionJob.purgeOlderThan(CUTOFF)).isEqualTo(1);
+        assertThat(retentionJob.purgeOlderThan(CUTOFF)).isZero();
+        assertThat(alertRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.accesscontrol.alert.service;
+
+import com.accesscontrol.alert.AlertServiceApplication;
+import com.accesscontrol.alert.dto.AlertDTO;
+import com.accesscontrol.alert.dto.AlertPageDTO;
+import com.accesscontrol.alert.model.Alert;
+import com.accesscontrol.alert.repository.AlertRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ContextConfiguration(classes = AlertServiceApplication.class)
+@Import({AlertService.class, AlertDeduplicator.class, AlertServicePageTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("AlertService - Consola paginada por cursor")
+class AlertServicePageTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 15, 8, 0);
+
+    @Configuration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @AfterEach
+    void cleanUp() {
+        alertRepository.deleteAll();
+    }
+
+    private Alert alert(String code, String username, LocalDateTime timestamp) {
+        Alert alert = new Alert();
+        alert.setCode(code);
+        alert.setUsername(username);
+        alert.setTimestamp(timestamp);
+        return alert;
+    }
+
+    @Test
+    @DisplayName("Las páginas recorren todas las alertas, de la más reciente a la más vieja, sin repetir")
+    void testPagesWalkNewestFirst() {
+        List<Alert> alerts = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            alerts.add(alert("LOGIN_USR_NOT_REGISTERED", "user" + i, START.plusMinutes(i)));
+        }
+        // Mismo timestamp: el id desempata
+        alerts.add(alert("LOGIN_USR_NOT_REGISTERED", "user7", START.plusMinutes(6)));
+        alertRepository.saveAll(alerts);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AlertPageDTO page = alertService.getAlertsPage(null, null, cursor, 3);
+            page.getItems().forEach(alert -> seen.add(alert.getUsername()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactly("user7", "user6", "user5", "user4", "user3", "user2", "user1", "user0");
+    }
+
+    @Test
+    @DisplayName("Los filtros por código, usuario y rango sólo devuelven sus alertas")
+    void testFilteredPages() {
+        alertRepository.saveAll(List.of(
+                alert("LOGIN_USR_ATTEMPS_EXCEEDED", "ana", START),
+                alert("LOGIN_USR_ATTEMPS_EXCEEDED", "beto", START.plusHours(1)),
+                alert("LOGIN_USR_NOT_REGISTERED", "ana", START.plusHours(2)),
+                alert("LOGIN_USR_NOT_REGISTERED", "ana", START.plusDays(2))));
+
+        assertThat(alertService.getAlertsByCodePage("LOGIN_USR_ATTEMPS_EXCEEDED", null, 10).getItems())
+                .extracting(AlertDTO::getUsername).containsExactly("beto", "ana");
+        assertThat(alertService.getAlertsByUsernamePage("ana", null, 10).getItems())
+                .extracting(AlertDTO::getCode)
+                .containsExactly("LOGIN_USR_NOT_REGISTERED", "LOGIN_USR_NOT_REGISTERED", "LOGIN_USR_ATTEMPS_EXCEEDED");
+        AlertPageDTO sameDay = alertService.getAlertsPage(START, START.plusDays(1), null, 10);
+        assertThat(sameDay.getSize()).isEqualTo(3);
+        assertThat(sameDay.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Un cursor alterado se rechaza como argumento inválido")
+    void testInvalidCursor() {
+        assertThatThrownBy(() -> alertService.getAlertsByCodePage("LOGIN_USR_NOT_REGISTERED", "no-es-un-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.accesscontrol.alert.service;
+
+import com.accesscontrol.alert.controller.AlertController;
+import com.accesscontrol.alert.dto.AlertDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("AlertStream - Difusión de alertas por Server-Sent Events")
+class AlertStreamTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AlertStream stream(int bufferSize, int maxSubscribers) {
+        return new AlertStream(meterRegistry, bufferSize, maxSubscribers, Duration.ofMinutes(1));
+    }
+
+    private AlertDTO alert(String id, String code) {
+        AlertDTO alert = new AlertDTO();
+        alert.setId(id);
+        alert.setCode(code);
+        return alert;
+    }
+
+    @Test
+    @DisplayName("GET /alert/stream recibe cada alerta publicada como evento 'alert'")
+    void testSubscriberReceivesEvents() throws Exception {
+        AlertStream stream = stream(16, 10);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AlertController(mock(AlertService.class), stream)).build();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/alert/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        stream.publish(List.of(alert("ALERT-1", "LOGIN_USR_NOT_REGISTERED")));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!response.getContentAsString().contains("ALERT-1") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(response.getContentAsString())
+                .contains("id:ALERT-1", "event:alert", "\"code\":\"LOGIN_USR_NOT_REGISTERED\"");
+    }
+
+    @Test
+    @DisplayName("Un cliente cuyo buffer se llena se desconecta sin frenar al que publica")
+    void testSlowSubscriberIsDropped() {
+        AlertStream stream = stream(2, 10);
+        Optional<SseEmitter> slow = stream.subscribe();
+
+        stream.publish(List.of(alert("ALERT-1", "A"), alert("ALERT-2", "A"), alert("ALERT-3", "A")));
+
+        assertThat(slow).isPresent();
+        assertThat(stream.subscriberCount()).isZero();
+        assertThat(meterRegistry.get("alert_stream_dropped_total").tag("reason", "slow").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Alcanzado el límite de suscriptores, GET /alert/stream responde 503")
+    void testSubscriberLimit() throws Exception {
+        AlertStream stream = stream(16, 1);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AlertController(mock(AlertService.class), stream)).build();
+
+        mockMvc.perform(get("/alert/stream")).andExpect(request().asyncStarted());
+        mockMvc.perform(get("/alert/stream")).andExpect(status().isServiceUnavailable());
+    }
+}
@@ -1,6 +1,7 @@
 package com.accesscontrol.employee.controller;
 
 import com.accesscontrol.employee.dto.EmployeeDTO;
+import com.accesscontrol.employee.exception.EmployeeNotFoundException;
 import com.accesscontrol.employee.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -58,6 +59,20 @@ public class EmployeeController {
         return ResponseEntity.ok(employee);
     }
 
+    @Operation(summary = "Búsqueda masiva por documento", description = "Recibe una lista de documentos y retorna un mapa documento -> empleado; los documentos inexistentes se omiten")
+    @ApiResponse(responseCode = "200", description = "Empleados encontrados")
+    @PostMapping("/batch/document")
+    public ResponseEntity<Map<String, EmployeeDTO>> getEmployeesByDocuments(@RequestBody List<String> documents) {
+        return ResponseEntity.ok(employeeService.getEmployeesByDocuments(documents));
+    }
+
+    @Operation(summary = "Búsqueda masiva por código", description = "Recibe una lista de códigos y retorna un mapa código -> empleado; los códigos inexistentes se omiten")
+    @ApiResponse(responseCode = "200", description = "Empleados encontrados")
+    @PostMapping("/batch/code")
+    public ResponseEntity<Map<String, EmployeeDTO>> getEmployeesByCodes(@RequestBody List<String> employeeCodes) {
+        return ResponseEntity.ok(employeeService.getEmployeesByCodes(employeeCodes));
+    }
+
     @Operation(summary = "Crear nuevo empleado", description = "Registra un nuevo empleado en el sistema")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Empleado creado exitosamente"),
@@ -88,6 +103,17 @@ public class EmployeeController {
         }
     }
     
+    // 404 y no 500: access-control-service guarda en su caché negativa los documentos inexistentes
+    // y su circuit breaker no cuenta los 4xx como fallas del servicio
+    @ExceptionHandler(EmployeeNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleEmployeeNotFound(EmployeeNotFoundException ex) {
+        logger.debug("Empleado no encontrado: {}", ex.getMessage());
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Not found");
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
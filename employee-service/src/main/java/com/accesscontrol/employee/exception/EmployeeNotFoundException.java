@@ -0,0 +1,11 @@
+package com.accesscontrol.employee.exception;
+
+/**
+ * El empleado buscado por id, código o documento no existe; el controlador responde 404
+ */
+public class EmployeeNotFoundException extends RuntimeException {
+
+    public EmployeeNotFoundException(String message) {
+        super(message);
+    }
+}
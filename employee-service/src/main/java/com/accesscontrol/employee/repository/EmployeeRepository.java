@@ -3,6 +3,7 @@ package com.accesscontrol.employee.repository;
 import com.accesscontrol.employee.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -10,6 +11,8 @@ import java.util.List;
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByDocument(String document);
     Optional<Employee> findByEmployeeCode(String employeeCode);
+    List<Employee> findByDocumentIn(Collection<String> documents);
+    List<Employee> findByEmployeeCodeIn(Collection<String> employeeCodes);
     Optional<Employee> findByEmail(String email);
     List<Employee> findByStatus(Boolean status);
     boolean existsByDocument(String document);
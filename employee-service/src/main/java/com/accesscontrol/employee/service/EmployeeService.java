@@ -1,20 +1,29 @@
 package com.accesscontrol.employee.service;
 
 import com.accesscontrol.employee.dto.EmployeeDTO;
+import com.accesscontrol.employee.exception.EmployeeNotFoundException;
 import com.accesscontrol.employee.model.Employee;
 import com.accesscontrol.employee.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class EmployeeService {
     
+    // Tamaño máximo de cada cláusula IN enviada a la base de datos
+    static final int BATCH_CHUNK_SIZE = 500;
+    
     @Autowired
     private EmployeeRepository employeeRepository;
 
@@ -27,22 +36,55 @@ public class EmployeeService {
     public EmployeeDTO getEmployeeById(Long id) {
         Objects.requireNonNull(id, "Employee id is required");
         Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
         return new EmployeeDTO(employee);
     }
 
     public EmployeeDTO getEmployeeByCode(String employeeCode) {
         Employee employee = employeeRepository.findByEmployeeCode(employeeCode)
-                .orElseThrow(() -> new RuntimeException("Employee not found with code: " + employeeCode));
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with code: " + employeeCode));
         return new EmployeeDTO(employee);
     }
 
     public EmployeeDTO getEmployeeByDocument(String document) {
         Employee employee = employeeRepository.findByDocument(document)
-                .orElseThrow(() -> new RuntimeException("Employee not found with document: " + document));
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with document: " + document));
         return new EmployeeDTO(employee);
     }
 
+    /**
+     * Búsqueda masiva por documento: una consulta IN por cada bloque de BATCH_CHUNK_SIZE.
+     * Los documentos que no existen simplemente no aparecen en el resultado.
+     */
+    public Map<String, EmployeeDTO> getEmployeesByDocuments(Collection<String> documents) {
+        return findInChunks(documents, employeeRepository::findByDocumentIn, EmployeeDTO::getDocument);
+    }
+
+    public Map<String, EmployeeDTO> getEmployeesByCodes(Collection<String> employeeCodes) {
+        return findInChunks(employeeCodes, employeeRepository::findByEmployeeCodeIn, EmployeeDTO::getEmployeeCode);
+    }
+
+    private Map<String, EmployeeDTO> findInChunks(Collection<String> keys,
+                                                  Function<Collection<String>, List<Employee>> finder,
+                                                  Function<EmployeeDTO, String> keyExtractor) {
+        Map<String, EmployeeDTO> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+        List<String> distinctKeys = keys.stream()
+                .filter(key -> key != null && !key.isBlank())
+                .distinct()
+                .collect(Collectors.toList());
+        for (int from = 0; from < distinctKeys.size(); from += BATCH_CHUNK_SIZE) {
+            List<String> chunk = new ArrayList<>(distinctKeys.subList(from, Math.min(from + BATCH_CHUNK_SIZE, distinctKeys.size())));
+            for (Employee employee : finder.apply(chunk)) {
+                EmployeeDTO dto = new EmployeeDTO(employee);
+                result.put(keyExtractor.apply(dto), dto);
+            }
+        }
+        return result;
+    }
+
     public EmployeeDTO createEmployee(EmployeeDTO employeeDTO) {
         if (employeeRepository.existsByDocument(employeeDTO.getDocument())) {
             throw new RuntimeException("Document already exists: " + employeeDTO.getDocument());
@@ -63,7 +105,7 @@ public class EmployeeService {
     public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO) {
         Objects.requireNonNull(id, "Employee id is required");
         Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
         
         // Verificar si el código de empleado ya existe en otro registro
         if (!employee.getEmployeeCode().equals(employeeDTO.getEmployeeCode()) &&
@@ -89,7 +131,7 @@ public class EmployeeService {
     public EmployeeDTO updateEmployeeStatus(Long id, String status) {
         Objects.requireNonNull(id, "Employee id is required");
         Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
         
         // Convertir String a Boolean: "ACTIVE" o "true" = true, otros = false
         Boolean statusBoolean = "ACTIVE".equalsIgnoreCase(status) || "true".equalsIgnoreCase(status);
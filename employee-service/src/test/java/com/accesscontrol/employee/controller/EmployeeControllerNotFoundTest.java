@@ -0,0 +1,65 @@
+package com.accesscontrol.employee.controller;
+
+import com.accesscontrol.employee.repository.EmployeeRepository;
+import com.accesscontrol.employee.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Controlador y servicio reales: sólo el repositorio es simulado
+@WebMvcTest(EmployeeController.class)
+@Import(EmployeeService.class)
+@DisplayName("Employee Controller - Empleado inexistente responde 404")
+class EmployeeControllerNotFoundTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    @DisplayName("GET /employee/document/{document} - Documento inexistente responde 404")
+    void testUnknownDocumentIsNotFound() throws Exception {
+        when(employeeRepository.findByDocument(anyString())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/employee/document/99999999")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", containsString("99999999")));
+    }
+
+    @Test
+    @DisplayName("GET /employee/code/{employeeCode} - Código inexistente responde 404")
+    void testUnknownCodeIsNotFound() throws Exception {
+        when(employeeRepository.findByEmployeeCode(anyString())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/employee/code/EMP999")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", containsString("EMP999")));
+    }
+
+    @Test
+    @DisplayName("GET /employee/{id} - Id inexistente responde 404")
+    void testUnknownIdIsNotFound() throws Exception {
+        when(employeeRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/employee/999")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+}
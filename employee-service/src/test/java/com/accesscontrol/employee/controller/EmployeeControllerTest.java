@@ -1,6 +1,7 @@
 package com.accesscontrol.employee.controller;
 
 import com.accesscontrol.employee.dto.EmployeeDTO;
+import com.accesscontrol.employee.exception.EmployeeNotFoundException;
 import com.accesscontrol.employee.service.EmployeeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +16,7 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.hamcrest.Matchers.*;
@@ -111,16 +113,17 @@ class EmployeeControllerTest {
     }
 
     @Test
-    @DisplayName("getEmployeeById - Retorna 500 cuando empleado no existe")
+    @DisplayName("getEmployeeById - Retorna 404 cuando empleado no existe")
     void testGetEmployeeByIdNotFound() throws Exception {
         // Arrange
         when(employeeService.getEmployeeById(999L))
-                .thenThrow(new RuntimeException("Employee not found with id: 999"));
+                .thenThrow(new EmployeeNotFoundException("Employee not found with id: 999"));
 
         // Act & Assert
         mockMvc.perform(get("/employee/999")
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isInternalServerError());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Employee not found with id: 999")));
 
         verify(employeeService, times(1)).getEmployeeById(999L);
     }
@@ -144,16 +147,17 @@ class EmployeeControllerTest {
     }
 
     @Test
-    @DisplayName("getEmployeeByCode - Retorna 500 cuando código no existe")
+    @DisplayName("getEmployeeByCode - Retorna 404 cuando código no existe")
     void testGetEmployeeByCodeNotFound() throws Exception {
         // Arrange
         when(employeeService.getEmployeeByCode("INVALID"))
-                .thenThrow(new RuntimeException("Employee not found with code: INVALID"));
+                .thenThrow(new EmployeeNotFoundException("Employee not found with code: INVALID"));
 
         // Act & Assert
         mockMvc.perform(get("/employee/code/INVALID")
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isInternalServerError());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Employee not found with code: INVALID")));
 
         verify(employeeService, times(1)).getEmployeeByCode("INVALID");
     }
@@ -177,20 +181,57 @@ class EmployeeControllerTest {
     }
 
     @Test
-    @DisplayName("getEmployeeByDocument - Retorna 500 cuando documento no existe")
+    @DisplayName("getEmployeeByDocument - Retorna 404 cuando documento no existe")
     void testGetEmployeeByDocumentNotFound() throws Exception {
         // Arrange
         when(employeeService.getEmployeeByDocument("99999999"))
-                .thenThrow(new RuntimeException("Employee not found with document: 99999999"));
+                .thenThrow(new EmployeeNotFoundException("Employee not found with document: 99999999"));
 
         // Act & Assert
         mockMvc.perform(get("/employee/document/99999999")
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isInternalServerError());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Employee not found with document: 99999999")));
 
         verify(employeeService, times(1)).getEmployeeByDocument("99999999");
     }
 
+    // ============================================
+    // PRUEBAS: POST /employee/batch/document y /employee/batch/code
+    // ============================================
+    @Test
+    @DisplayName("getEmployeesByDocuments - Retorna 200 con mapa documento -> empleado")
+    void testGetEmployeesByDocuments() throws Exception {
+        // Arrange
+        when(employeeService.getEmployeesByDocuments(anyList()))
+                .thenReturn(Map.of("12345678", testEmployeeDTO));
+
+        // Act & Assert
+        mockMvc.perform(post("/employee/batch/document")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList("12345678", "99999999"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.12345678.employeeCode", is("EMP001")))
+                .andExpect(jsonPath("$.99999999").doesNotExist());
+
+        verify(employeeService, times(1)).getEmployeesByDocuments(Arrays.asList("12345678", "99999999"));
+    }
+
+    @Test
+    @DisplayName("getEmployeesByCodes - Retorna 200 con mapa código -> empleado")
+    void testGetEmployeesByCodes() throws Exception {
+        // Arrange
+        when(employeeService.getEmployeesByCodes(anyList()))
+                .thenReturn(Map.of("EMP001", testEmployeeDTO));
+
+        // Act & Assert
+        mockMvc.perform(post("/employee/batch/code")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList("EMP001"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.EMP001.document", is("12345678")));
+    }
+
     // ============================================
     // PRUEBAS: POST /employee/createemployee
     // ============================================
@@ -13,11 +13,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -189,6 +194,67 @@ class EmployeeServiceTest {
                 .hasMessageContaining("Employee not found with document: 99999999");
     }
 
+    // ============================================
+    // PRUEBAS: getEmployeesByDocuments / getEmployeesByCodes
+    // ============================================
+    @Test
+    @DisplayName("getEmployeesByDocuments - Retorna mapa documento -> empleado omitiendo inexistentes")
+    void testGetEmployeesByDocuments() {
+        // Arrange
+        when(employeeRepository.findByDocumentIn(anyCollection())).thenReturn(Arrays.asList(testEmployee));
+
+        // Act
+        Map<String, EmployeeDTO> result = employeeService.getEmployeesByDocuments(
+                Arrays.asList("12345678", "99999999", "12345678", null, " "));
+
+        // Assert
+        assertThat(result).containsOnlyKeys("12345678");
+        assertThat(result.get("12345678").getEmployeeCode()).isEqualTo("EMP001");
+        verify(employeeRepository, times(1)).findByDocumentIn(Arrays.asList("12345678", "99999999"));
+    }
+
+    @Test
+    @DisplayName("getEmployeesByDocuments - Divide la consulta IN en bloques")
+    void testGetEmployeesByDocumentsChunked() {
+        // Arrange
+        List<String> documents = IntStream.range(0, EmployeeService.BATCH_CHUNK_SIZE + 1)
+                .mapToObj(i -> "DOC" + i)
+                .collect(Collectors.toList());
+        when(employeeRepository.findByDocumentIn(anyCollection())).thenReturn(Collections.emptyList());
+
+        // Act
+        Map<String, EmployeeDTO> result = employeeService.getEmployeesByDocuments(documents);
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(employeeRepository, times(2)).findByDocumentIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("getEmployeesByDocuments - Lista vacía no consulta la base de datos")
+    void testGetEmployeesByDocumentsEmpty() {
+        // Act
+        Map<String, EmployeeDTO> result = employeeService.getEmployeesByDocuments(Collections.emptyList());
+
+        // Assert
+        assertThat(result).isEmpty();
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    @DisplayName("getEmployeesByCodes - Retorna mapa código -> empleado")
+    void testGetEmployeesByCodes() {
+        // Arrange
+        when(employeeRepository.findByEmployeeCodeIn(anyCollection())).thenReturn(Arrays.asList(testEmployee));
+
+        // Act
+        Map<String, EmployeeDTO> result = employeeService.getEmployeesByCodes(Arrays.asList("EMP001"));
+
+        // Assert
+        assertThat(result).containsOnlyKeys("EMP001");
+        assertThat(result.get("EMP001").getDocument()).isEqualTo("12345678");
+    }
+
     // ============================================
     // PRUEBAS: createEmployee(EmployeeDTO dto) - COMPLEJIDAD ALTA
     // ============================================
@@ -0,0 +1,93 @@
+import React, { useEffect, useState } from 'react'
+import { Paper, Typography, Box, List, ListItem, ListItemText, Chip } from '@mui/material'
+import { fetchAlertsPage, openAlertStream } from '../services/api'
+import HelpIcon from './HelpIcon'
+
+const MAX_ALERTS = 10
+
+const lastSeenOf = alert => new Date(alert.lastSeen || alert.timestamp).getTime()
+
+/**
+ * Une la página recibida con lo que ya llegó por SSE: una fila por id (la más reciente según
+ * lastSeen) y orden por timestamp descendente
+ */
+const mergeAlerts = (current, fetched) => {
+  const byId = new Map()
+  for (const alert of [...current, ...fetched]) {
+    const previous = byId.get(alert.id)
+    if (!previous || lastSeenOf(alert) > lastSeenOf(previous)) {
+      byId.set(alert.id, alert)
+    }
+  }
+  return [...byId.values()]
+    .sort((a, b) => new Date(b.timestamp) - new Date(a.timestamp))
+    .slice(0, MAX_ALERTS)
+}
+
+/**
+ * Últimas alertas en vivo: carga la primera página y después recibe las nuevas por SSE
+ */
+function LiveAlerts() {
+  const [alerts, setAlerts] = useState([])
+  const [connected, setConnected] = useState(false)
+
+  useEffect(() => {
+    const loadLatest = () =>
+      fetchAlertsPage({ size: MAX_ALERTS })
+        // Las alertas recibidas por SSE mientras se cargaba la página no se pisan
+        .then(response => setAlerts(current => mergeAlerts(current, response.data?.items || [])))
+        .catch(err => console.error('Error obteniendo alertas:', err))
+
+    const stream = openAlertStream()
+    // Al (re)conectar se recarga la página para no perder las alertas del corte
+    stream.onopen = () => {
+      setConnected(true)
+      loadLatest()
+    }
+    stream.onerror = () => setConnected(false)
+    stream.addEventListener('alert', event => {
+      const alert = JSON.parse(event.data)
+      setAlerts(current => [alert, ...current.filter(a => a.id !== alert.id)].slice(0, MAX_ALERTS))
+    })
+
+    return () => stream.close()
+  }, [])
+
+  return (
+    <Paper elevation={3} sx={{ p: 3, mt: 3 }}>
+      <Box sx={{ display: 'flex', alignItems: 'center', gap: 1, mb: 1 }}>
+        <Typography variant="h6" sx={{ fontWeight: 600 }}>
+          Alertas en vivo
+        </Typography>
+        <HelpIcon
+          title="Las alertas nuevas aparecen en cuanto se registran, sin recargar la página. Las repeticiones de una misma alerta se acumulan en su contador."
+          placement="right"
+        />
+        <Chip
+          size="small"
+          label={connected ? 'Conectado' : 'Reconectando'}
+          color={connected ? 'success' : 'default'}
+          sx={{ ml: 'auto' }}
+        />
+      </Box>
+      {alerts.length === 0 ? (
+        <Typography variant="body2" color="text.secondary">
+          Sin alertas recientes
+        </Typography>
+      ) : (
+        <List dense>
+          {alerts.map(alert => (
+            <ListItem key={alert.id} divider>
+              <ListItemText
+                primary={`${alert.code} · ${alert.username || alert.employeeCode || '-'}`}
+                secondary={`${new Date(alert.timestamp).toLocaleString('es-ES')}${alert.occurrences > 1 ? ` · ${alert.occurrences} veces` : ''}`}
+              />
+            </ListItem>
+          ))}
+        </List>
+      )}
+    </Paper>
+  )
+}
+
+export default LiveAlerts
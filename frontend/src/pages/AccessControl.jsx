@@ -32,7 +32,7 @@ import {
   Warning as WarningIcon, 
   History as HistoryIcon
 } from '@mui/icons-material'
-import api from '../services/api'
+import api, { fetchAccessHistoryPage } from '../services/api'
 import HelpIcon from '../components/HelpIcon'
 import EmptyState from '../components/EmptyState'
 import LoadingButton from '../components/LoadingButton'
@@ -43,6 +43,8 @@ function AccessControl() {
   const [open, setOpen] = useState(false)
   const [availableLocations, setAvailableLocations] = useState([])
   const [availableDevices, setAvailableDevices] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [formData, setFormData] = useState({
     employeeId: '',
     employeeCode: '',
@@ -57,33 +59,55 @@ function AccessControl() {
     fetchEmployees()
   }, [])
 
+  // Ubicaciones y dispositivos únicos de los registros cargados, para sugerirlos en el formulario
+  const updateSuggestions = (records) => {
+    const locations = [...new Set(records
+      .map(r => r.location)
+      .filter(loc => loc && loc.trim() !== '')
+    )].sort()
+    
+    const devices = [...new Set(records
+      .map(r => r.deviceId)
+      .filter(dev => dev && dev.trim() !== '')
+    )].sort()
+    
+    setAvailableLocations(locations)
+    setAvailableDevices(devices)
+  }
+
+  // Solo la primera página; el resto se pide con "Cargar más"
   const fetchAccessRecords = async () => {
     try {
-      const response = await api.get('/access/history')
-      const records = Array.isArray(response.data) ? response.data : []
+      const response = await fetchAccessHistoryPage()
+      const records = response.data.items
       setAccessRecords(records)
-      
-      // Extraer ubicaciones y dispositivos únicos del historial
-      const locations = [...new Set(records
-        .map(r => r.location)
-        .filter(loc => loc && loc.trim() !== '')
-      )].sort()
-      
-      const devices = [...new Set(records
-        .map(r => r.deviceId)
-        .filter(dev => dev && dev.trim() !== '')
-      )].sort()
-      
-      setAvailableLocations(locations)
-      setAvailableDevices(devices)
+      setNextCursor(response.data.nextCursor)
+      updateSuggestions(records)
     } catch (error) {
       console.error('Error fetching access records:', error)
       setAccessRecords([])
+      setNextCursor(null)
       setAvailableLocations([])
       setAvailableDevices([])
     }
   }
 
+  const handleLoadMore = async () => {
+    try {
+      setLoadingMore(true)
+      const response = await fetchAccessHistoryPage({}, nextCursor)
+      const records = [...accessRecords, ...response.data.items]
+      setAccessRecords(records)
+      setNextCursor(response.data.nextCursor)
+      updateSuggestions(records)
+    } catch (error) {
+      console.error('Error fetching access records:', error)
+      alert('Error al cargar más registros')
+    } finally {
+      setLoadingMore(false)
+    }
+  }
+
   const fetchEmployees = async () => {
     try {
       const response = await api.get('/employee/findallemployees')
@@ -368,7 +392,7 @@ function AccessControl() {
         <TableContainer component={Paper}>
           <Box sx={{ p: 2, bgcolor: 'background.default', borderBottom: 1, borderColor: 'divider' }}>
             <Typography variant="subtitle1" color="text.secondary">
-              Historial de Accesos ({accessRecords.length} registro{accessRecords.length !== 1 ? 's' : ''})
+              Historial de Accesos ({accessRecords.length}{nextCursor ? '+' : ''} registro{accessRecords.length !== 1 ? 's' : ''})
             </Typography>
           </Box>
           <Table>
@@ -439,6 +463,13 @@ function AccessControl() {
               ))}
             </TableBody>
           </Table>
+          {nextCursor && (
+            <Box sx={{ display: 'flex', justifyContent: 'center', p: 2 }}>
+              <LoadingButton variant="outlined" onClick={handleLoadMore} loading={loadingMore}>
+                Cargar más
+              </LoadingButton>
+            </Box>
+          )}
         </TableContainer>
       )}
 
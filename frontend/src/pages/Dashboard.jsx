@@ -15,9 +15,10 @@ import {
   Assessment as AssessmentIcon,
   Refresh as RefreshIcon
 } from '@mui/icons-material'
-import api from '../services/api'
+import api, { fetchAccessStats } from '../services/api'
 import HelpIcon from '../components/HelpIcon'
 import SkeletonCard from '../components/SkeletonCard'
+import LiveAlerts from '../components/LiveAlerts'
 
 function Dashboard() {
   const [stats, setStats] = useState({
@@ -38,31 +39,23 @@ function Dashboard() {
         return { data: [] }
       })
       
-      const accessPromise = api.get('/access/history').catch(err => {
-        console.error('Error obteniendo historial de acceso:', err)
-        return { data: [] }
+      const statsPromise = fetchAccessStats().catch(err => {
+        console.error('Error obteniendo totales de acceso:', err)
+        return { data: { totalRecords: 0, todayRecords: 0 } }
       })
       
-      const [employeesRes, accessRes] = await Promise.all([employeesPromise, accessPromise])
+      const [employeesRes, statsRes] = await Promise.all([employeesPromise, statsPromise])
 
       console.log('Dashboard - Respuesta de empleados:', employeesRes.data)
       console.log('Dashboard - Tipo de respuesta:', typeof employeesRes.data)
       console.log('Dashboard - Es array?', Array.isArray(employeesRes.data))
       console.log('Dashboard - Número de empleados:', Array.isArray(employeesRes.data) ? employeesRes.data.length : 'No es un array')
-      console.log('Dashboard - Respuesta de acceso:', accessRes.data)
-
-      const today = new Date()
-      today.setHours(0, 0, 0, 0)
-      const todayAccess = Array.isArray(accessRes.data) ? accessRes.data.filter(record => {
-        if (!record.accessTimestamp) return false
-        const recordDate = new Date(record.accessTimestamp)
-        return recordDate >= today
-      }) : []
+      console.log('Dashboard - Totales de acceso:', statsRes.data)
 
       setStats({
         employees: Array.isArray(employeesRes.data) ? employeesRes.data.length : 0,
-        accessRecords: Array.isArray(accessRes.data) ? accessRes.data.length : 0,
-        todayAccess: todayAccess.length
+        accessRecords: statsRes.data?.totalRecords || 0,
+        todayAccess: statsRes.data?.todayRecords || 0
       })
       setLastUpdated(new Date())
     } catch (error) {
@@ -311,6 +304,7 @@ function Dashboard() {
         ))
         )}
       </Grid>
+      <LiveAlerts />
     </Container>
   )
 }
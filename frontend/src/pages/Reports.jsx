@@ -14,7 +14,7 @@ import {
   TableRow
 } from '@mui/material'
 import { Search as SearchIcon, Assessment as AssessmentIcon } from '@mui/icons-material'
-import api from '../services/api'
+import { fetchAccessHistoryPage } from '../services/api'
 import HelpIcon from '../components/HelpIcon'
 import EmptyState from '../components/EmptyState'
 import LoadingButton from '../components/LoadingButton'
@@ -24,22 +24,42 @@ function Reports() {
   const [startDate, setStartDate] = useState('')
   const [endDate, setEndDate] = useState('')
   const [accessRecords, setAccessRecords] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
+  const [loadingMore, setLoadingMore] = useState(false)
+
+  const buildParams = () => {
+    const params = {}
+    if (employeeCode) params.employeeCode = employeeCode
+    if (startDate) params.startDate = `${startDate}T00:00:00`
+    if (endDate) params.endDate = `${endDate}T23:59:59`
+    return params
+  }
 
   const handleSearch = async () => {
     try {
-      const params = {}
-      if (employeeCode) params.employeeCode = employeeCode
-      if (startDate) params.startDate = `${startDate}T00:00:00`
-      if (endDate) params.endDate = `${endDate}T23:59:59`
-
-      const response = await api.get('/access/history', { params })
-      setAccessRecords(response.data)
+      const response = await fetchAccessHistoryPage(buildParams())
+      setAccessRecords(response.data.items)
+      setNextCursor(response.data.nextCursor)
     } catch (error) {
       console.error('Error fetching reports:', error)
       alert('Error al generar reporte')
     }
   }
 
+  const handleLoadMore = async () => {
+    try {
+      setLoadingMore(true)
+      const response = await fetchAccessHistoryPage(buildParams(), nextCursor)
+      setAccessRecords(prev => [...prev, ...response.data.items])
+      setNextCursor(response.data.nextCursor)
+    } catch (error) {
+      console.error('Error fetching reports:', error)
+      alert('Error al cargar más registros')
+    } finally {
+      setLoadingMore(false)
+    }
+  }
+
   const formatDate = (dateString) => {
     if (!dateString) return '-'
     const date = new Date(dateString)
@@ -151,6 +171,14 @@ function Reports() {
           </TableBody>
         </Table>
       </TableContainer>
+
+      {nextCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 2 }}>
+          <LoadingButton variant="outlined" onClick={handleLoadMore} loading={loadingMore}>
+            Cargar más
+          </LoadingButton>
+        </Box>
+      )}
     </Container>
   )
 }
@@ -53,4 +53,18 @@ api.interceptors.response.use(
   }
 )
 
+// Historial de accesos paginado por cursor: cada respuesta trae items y nextCursor (null en la última página)
+export const fetchAccessHistoryPage = (params = {}, cursor = null) =>
+  api.get('/access/history', { params: cursor ? { ...params, cursor } : params })
+
+// Totales del dashboard calculados en el servidor (totalRecords, todayRecords)
+export const fetchAccessStats = () => api.get('/access/stats')
+
+// Alertas más recientes primero, paginadas por cursor como el historial de accesos
+export const fetchAlertsPage = (params = {}, cursor = null) =>
+  api.get('/alert/page', { params: cursor ? { ...params, cursor } : params })
+
+// Stream SSE de alertas nuevas; el navegador se reconecta solo si el servidor corta la conexión
+export const openAlertStream = () => new EventSource(`${getBaseURL()}/alert/stream`)
+
 export default api
@@ -1,6 +1,17 @@
 package com.accesscontrol.login.dto;
 
+/**
+ * Evento de alerta publicado en alert.queue, versión 1 del esquema compartido con
+ * access-control-service y alert-service. El mensaje viaja con __TypeId__ = {@link #TYPE_ID}
+ * y alert-service lo decodifica siempre con este mismo tipo. Cambios compatibles (campos
+ * nuevos opcionales) mantienen la versión; cualquier otro cambio la incrementa.
+ */
 public class AlertEvent {
+
+    public static final int SCHEMA_VERSION = 1;
+    public static final String TYPE_ID = "alert.v" + SCHEMA_VERSION;
+
+    private int schemaVersion = SCHEMA_VERSION;
     private String code;
     private String description;
     private String username;
@@ -10,6 +21,14 @@ public class AlertEvent {
 
     public AlertEvent() {}
 
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public void setSchemaVersion(int schemaVersion) {
+        this.schemaVersion = schemaVersion;
+    }
+
     public String getCode() {
         return code;
     }
@@ -0,0 +1,73 @@
+package com.accesscontrol.login.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Cliente HTTP hacia auth-service - Timeouts configurados")
+class RestTemplateConfigTest {
+
+    // Carga application.yml y convierte las duraciones como el servicio real
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(new ConfigDataApplicationContextInitializer())
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class))
+            .withUserConfiguration(RestTemplateConfig.class);
+
+    @Test
+    @DisplayName("Conserva los 5s de conexión y 10s de lectura de la verificación MFA")
+    void testDefaultTimeoutsMatchMfaVerification() {
+        contextRunner.run(context -> {
+            RestTemplateConfig config = context.getBean(RestTemplateConfig.class);
+            ConnectionConfig connection = config.connectionConfig();
+            RequestConfig request = config.requestConfig();
+
+            assertThat(connection.getConnectTimeout()).isEqualTo(Timeout.ofSeconds(5));
+            assertThat(connection.getSocketTimeout()).isEqualTo(Timeout.ofSeconds(10));
+            assertThat(request.getResponseTimeout()).isEqualTo(Timeout.ofSeconds(10));
+            assertThat(request.getConnectionRequestTimeout()).isEqualTo(Timeout.ofSeconds(1));
+        });
+    }
+
+    @Test
+    @DisplayName("El RestTemplate corta una respuesta que no llega según http.client.read-timeout")
+    void testRestTemplateHonoursReadTimeout() {
+        contextRunner.withPropertyValues("http.client.read-timeout=300ms").run(context -> {
+            RestTemplate restTemplate = context.getBean(RestTemplate.class);
+
+            // Acepta la conexión y nunca responde
+            try (ServerSocket server = new ServerSocket(0)) {
+                Thread acceptor = new Thread(() -> {
+                    try (Socket ignored = server.accept()) {
+                        Thread.sleep(5000);
+                    } catch (Exception e) {
+                        // Cierre del servidor al terminar la prueba
+                    }
+                });
+                acceptor.setDaemon(true);
+                acceptor.start();
+
+                long start = System.nanoTime();
+                assertThatThrownBy(() -> restTemplate.getForObject(
+                        "http://localhost:" + server.getLocalPort() + "/api/auth/mfa/verify", String.class))
+                        .isInstanceOf(ResourceAccessException.class);
+                assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(3000);
+            }
+        });
+    }
+}